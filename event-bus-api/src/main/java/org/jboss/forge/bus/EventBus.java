@@ -9,10 +9,20 @@ package org.jboss.forge.bus;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Any;
@@ -23,11 +33,19 @@ import javax.inject.Singleton;
 import org.jboss.forge.bus.cdi.BusManaged;
 import org.jboss.forge.bus.cdi.ObserverCaptureExtension;
 import org.jboss.forge.bus.event.BusEvent;
+import org.jboss.forge.bus.event.IndependentEvent;
 import org.jboss.forge.bus.spi.EventBusGroomer;
+import org.jboss.forge.bus.spi.Grooms;
 import org.jboss.forge.bus.util.Annotations;
 
 /**
  * Simple bus for postponing event firing.
+ * <p>
+ * When asynchronous dispatch is enabled, queued {@link IndependentEvent}s are delivered on a small pool of background
+ * threads, while all other events are still delivered on the calling thread. Call {@link #awaitDispatch()} to wait for
+ * background delivery to complete.
+ * <p>
+ * Events may be queued and fired from any thread; the queue is guarded by this bus.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
@@ -41,19 +59,47 @@ public class EventBus
    @Inject
    private ObserverCaptureExtension extension;
 
-   private final Map<Object, Annotation[]> map = new HashMap<Object, Annotation[]>();
-   private List<Object> events = new ArrayList<Object>();
+   public static final int MAX_THREADS = 4;
+
+   private static final Annotation[] NO_QUALIFIERS = new Annotation[] {};
+
+   /*
+    * Queued events, in the order first queued, with the qualifiers each is to be fired with.
+    */
+   private final Map<Object, Annotation[]> queue = new LinkedHashMap<Object, Annotation[]>();
+
+   /*
+    * Whether each event type seen so far is a bus event; every event fired in the container is checked.
+    */
+   private final Map<Class<?>, Boolean> busEventTypes = new ConcurrentHashMap<Class<?>, Boolean>();
 
    boolean firing = false;
 
+   private volatile boolean async = false;
+   private ExecutorService[] lanes;
+   private int nextLane = 0;
+   private final List<Future<?>> pending = new ArrayList<Future<?>>();
+   private final List<Exception> failures = new ArrayList<Exception>();
+
    private ArrayList<EventBusGroomer> groomers;
+   private Map<EventBusGroomer, Class<?>[]> groomedTypes;
 
    @SuppressWarnings("unused")
    private void observeAll(@Observes @Any final Object event)
    {
-      if (handles(event) && !hasQueued(event))
+      if (isDispatchThread() && handles(event))
       {
-         enqueue(event);
+         deliver(event, NO_QUALIFIERS);
+      }
+      else if (handles(event))
+      {
+         synchronized (this)
+         {
+            if (!hasQueued(event))
+            {
+               enqueue(event);
+            }
+         }
       }
    }
 
@@ -62,10 +108,19 @@ public class EventBus
     */
    public void enqueue(final Object event)
    {
-      if (!firing)
+      if (isDispatchThread())
+      {
+         deliver(event, NO_QUALIFIERS);
+      }
+      else
       {
-         events.add(event);
-         map.put(event, new Annotation[] {});
+         synchronized (this)
+         {
+            if (!firing)
+            {
+               queue.put(event, NO_QUALIFIERS);
+            }
+         }
       }
    }
 
@@ -74,43 +129,63 @@ public class EventBus
     */
    public void enqueue(final Object event, final Annotation[] qualifiers)
    {
-      if (!firing)
+      if (isDispatchThread())
       {
-         events.add(event);
-         map.put(event, qualifiers);
+         deliver(event, qualifiers);
+      }
+      else
+      {
+         synchronized (this)
+         {
+            if (!firing)
+            {
+               queue.put(event, qualifiers);
+            }
+         }
       }
    }
 
    /**
     * Fire all queued events.
     */
-   public void fireAll()
+   public synchronized void fireAll()
    {
-      firing = true;
-      List<Exception> thrown = new ArrayList<Exception>();
-
-      if (groomers == null)
+      if (queue.isEmpty())
       {
-         groomers = new ArrayList<EventBusGroomer>();
-         ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
-         for (EventBusGroomer groomer : services) {
-            groomers.add(groomer);
-         }
+         return;
       }
 
-      for (EventBusGroomer groomer : groomers) {
-         events = groomer.groom(events);
-      }
+      /*
+       * Let events from the previous round finish first, so that per-key ordering holds across rounds.
+       */
+      failures.addAll(drain());
+
+      firing = true;
+      List<Exception> thrown = new ArrayList<Exception>();
 
       try
       {
+         List<Object> events = new ArrayList<Object>(queue.keySet());
+         for (EventBusGroomer groomer : getGroomers())
+         {
+            events = groom(groomer, events);
+         }
+
          for (Object event : events)
          {
-            if (map.containsKey(event))
+            Annotation[] value = queue.get(event);
+            if (value == null)
+            {
+               throw new IllegalStateException("Queued event was not found in event Map");
+            }
+            else if (async && (event instanceof IndependentEvent))
+            {
+               dispatch(event, ((IndependentEvent) event).getOrderingKey(), value);
+            }
+            else
             {
                try
                {
-                  Annotation[] value = map.get(event);
                   fireSingle(event, value);
                }
                catch (Exception e1)
@@ -118,53 +193,259 @@ public class EventBus
                   thrown.add(e1);
                }
             }
-            else
-            {
-               throw new IllegalStateException("Queued event was not found in event Map");
-            }
          }
       }
       finally
       {
          firing = false;
-         map.clear();
-         events.clear();
+         queue.clear();
+         failures.addAll(thrown);
       }
+   }
 
-      // Squelch these for now
-      // if (!thrown.isEmpty())
-      // throw new EventBusQueuedException(thrown);
+   /**
+    * Wait until all events dispatched in the background have been delivered.
+    *
+    * @throws EventBusQueuedException if any observer of an event fired since the last call threw an exception, whether
+    *            it was delivered in the background or not.
+    */
+   public synchronized void awaitDispatch() throws EventBusQueuedException
+   {
+      failures.addAll(drain());
+      if (!failures.isEmpty())
+      {
+         List<Exception> thrown = new ArrayList<Exception>(failures);
+         failures.clear();
+         throw new EventBusQueuedException(thrown);
+      }
    }
 
-   public boolean hasQueued(final Object event)
+   /**
+    * Enable or disable background delivery of {@link IndependentEvent}s.
+    */
+   public void setAsync(final boolean async)
    {
-      return map.containsKey(event);
+      this.async = async;
    }
 
-   public void fireSingle(final Object event)
+   public boolean isAsync()
+   {
+      return async;
+   }
+
+   /**
+    * Deliver the given event on the background thread for its key, so that events with equal keys are delivered in
+    * order.
+    */
+   private void dispatch(final Object event, final Object key, final Annotation[] qualifiers)
+   {
+      ExecutorService[] lanes = getLanes();
+      int lane = key == null ? nextLane++ : key.hashCode();
+      pending.add(lanes[(lane & Integer.MAX_VALUE) % lanes.length].submit(new Callable<Void>()
+      {
+         @Override
+         public Void call() throws Exception
+         {
+            deliver(event, qualifiers);
+            return null;
+         }
+      }));
+   }
+
+   /**
+    * Deliver the given event directly on the current dispatch thread, unless that thread is already delivering it. Bus
+    * events fired by observers running on a dispatch thread are delivered this way, since they cannot be queued.
+    */
+   private void deliver(final Object event, final Annotation[] qualifiers)
+   {
+      Set<Object> delivering = ((DispatchThread) Thread.currentThread()).delivering;
+      if (delivering.add(event))
+      {
+         try
+         {
+            fireSingle(event, qualifiers);
+         }
+         finally
+         {
+            delivering.remove(event);
+         }
+      }
+   }
+
+   private List<Exception> drain()
    {
-      List<BusManaged> qualifiers = extension.getEventQualifiers(event
-               .getClass());
+      List<Exception> result = new ArrayList<Exception>();
+      for (Future<?> future : pending)
+      {
+         try
+         {
+            future.get();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            result.add(e);
+            break;
+         }
+         catch (ExecutionException e)
+         {
+            result.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+         }
+      }
+      pending.clear();
+      return result;
+   }
 
-      fireSingle(event, qualifiers.toArray(new Annotation[] {}));
+   private static boolean isDispatchThread()
+   {
+      return Thread.currentThread() instanceof DispatchThread;
+   }
+
+   private synchronized ExecutorService[] getLanes()
+   {
+      if (lanes == null)
+      {
+         lanes = new ExecutorService[MAX_THREADS];
+         for (int i = 0; i < lanes.length; i++)
+         {
+            final String name = "EventBus-" + (i + 1);
+            lanes[i] = Executors.newSingleThreadExecutor(new ThreadFactory()
+            {
+               @Override
+               public Thread newThread(final Runnable runnable)
+               {
+                  Thread thread = new DispatchThread(runnable, name);
+                  thread.setDaemon(true);
+                  return thread;
+               }
+            });
+         }
+      }
+      return lanes;
+   }
+
+   private List<EventBusGroomer> getGroomers()
+   {
+      if (groomers == null)
+      {
+         groomers = new ArrayList<EventBusGroomer>();
+         groomedTypes = new IdentityHashMap<EventBusGroomer, Class<?>[]>();
+         ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
+         for (EventBusGroomer groomer : services) {
+            groomers.add(groomer);
+            Grooms grooms = groomer.getClass().getAnnotation(Grooms.class);
+            if (grooms != null)
+            {
+               groomedTypes.put(groomer, grooms.value());
+            }
+         }
+      }
+      return groomers;
+   }
+
+   /**
+    * Hand the given groomer the events it has declared an interest in, or all events if it has not declared any.
+    */
+   private List<Object> groom(final EventBusGroomer groomer, final List<Object> events)
+   {
+      Class<?>[] types = groomedTypes.get(groomer);
+      if (types == null)
+      {
+         return groomer.groom(events);
+      }
+
+      List<Object> selected = new ArrayList<Object>();
+      for (Object event : events)
+      {
+         if (isInstance(types, event))
+         {
+            selected.add(event);
+         }
+      }
+      if (selected.isEmpty())
+      {
+         return events;
+      }
+
+      List<Object> groomed = groomer.groom(selected);
+      Set<Object> kept = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+      kept.addAll(groomed);
+
+      List<Object> result = new ArrayList<Object>(events.size());
+      for (Object event : events)
+      {
+         if (!isInstance(types, event) || kept.remove(event))
+         {
+            result.add(event);
+         }
+      }
+      for (Object event : groomed)
+      {
+         if (kept.contains(event))
+         {
+            result.add(event);
+         }
+      }
+      return result;
+   }
+
+   private static boolean isInstance(final Class<?>[] types, final Object event)
+   {
+      for (Class<?> type : types)
+      {
+         if (type.isInstance(event))
+         {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   public synchronized boolean hasQueued(final Object event)
+   {
+      return queue.containsKey(event);
+   }
+
+   public void fireSingle(final Object event)
+   {
+      fireSingle(event, extension.getEventQualifierArray(event.getClass()));
    }
 
    public void fireSingle(final Object event, final Annotation... annotations)
    {
-      List<BusManaged> qualifiers = extension.getEventQualifiers(event
-               .getClass());
+      BusManaged[] qualifiers = extension.getEventQualifierArray(event.getClass());
 
       for (BusManaged managed : qualifiers) {
-         List<Annotation> toFire = new ArrayList<Annotation>();
-         toFire.addAll(Arrays.asList(annotations));
-         toFire.add(managed);
-         manager.fireEvent(event, toFire.toArray(new Annotation[] {}));
+         Annotation[] toFire = Arrays.copyOf(annotations, annotations.length + 1, Annotation[].class);
+         toFire[annotations.length] = managed;
+         manager.fireEvent(event, toFire);
       }
 
    }
 
    public boolean handles(final Object event)
    {
-      return Annotations.isAnnotationPresent(event.getClass(), BusEvent.class);
+      Class<?> type = event.getClass();
+      Boolean result = busEventTypes.get(type);
+      if (result == null)
+      {
+         result = Annotations.isAnnotationPresent(type, BusEvent.class);
+         busEventTypes.put(type, result);
+      }
+      return result;
+   }
+
+   /**
+    * A thread delivering events in the background. Events fired by observers on these threads are delivered directly,
+    * rather than queued again; the events currently being delivered are tracked so that they are not delivered twice.
+    */
+   private static class DispatchThread extends Thread
+   {
+      private final Set<Object> delivering = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+      DispatchThread(final Runnable runnable, final String name)
+      {
+         super(runnable, name);
+      }
    }
 }
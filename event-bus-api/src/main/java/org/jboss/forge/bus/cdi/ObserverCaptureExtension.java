@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AnnotatedCallable;
@@ -42,6 +43,7 @@ import org.jboss.forge.bus.util.Annotations;
 public class ObserverCaptureExtension implements Extension
 {
    private final Map<Class<?>, List<BusManaged>> eventQualifierMap = new HashMap<Class<?>, List<BusManaged>>();
+   private final Map<Class<?>, BusManaged[]> eventQualifierCache = new ConcurrentHashMap<Class<?>, BusManaged[]>();
    private int rollingIdentifier = 0;
 
    public <T> void scan(@Observes final ProcessAnnotatedType<T> event)
@@ -365,6 +367,7 @@ public class ObserverCaptureExtension implements Extension
       }
       qualifiers.add(qualifier);
       eventQualifierMap.put(clazz, qualifiers);
+      eventQualifierCache.clear();
    }
 
    /**
@@ -385,6 +388,23 @@ public class ObserverCaptureExtension implements Extension
       return result;
    }
 
+   /**
+    * Return the {@link BusManaged} annotations corresponding to the given event type, as computed by
+    * {@link #getEventQualifiers(Class)}. The array is computed once per event type and shared, so it must not be
+    * modified.
+    */
+   public BusManaged[] getEventQualifierArray(final Class<?> clazz)
+   {
+      BusManaged[] result = eventQualifierCache.get(clazz);
+      if (result == null)
+      {
+         List<BusManaged> qualifiers = getEventQualifiers(clazz);
+         result = qualifiers.toArray(new BusManaged[qualifiers.size()]);
+         eventQualifierCache.put(clazz, result);
+      }
+      return result;
+   }
+
    /**
     * Return the entire map of Event Types and their corresponding lists of {@link BusManaged} annotation instances.
     * This map can be used to implement a strategy for custom firing of events.
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus.event;
+
+import org.jboss.forge.bus.EventBus;
+
+/**
+ * A {@link BusEvent} whose observers do not depend on the outcome of other queued events, and which the
+ * {@link EventBus} may therefore deliver on a background thread when asynchronous dispatch is enabled. Events with
+ * equal ordering keys are still delivered one at a time, in the order in which they were queued.
+ */
+public interface IndependentEvent
+{
+   /**
+    * Return the key that orders delivery of this event relative to others, such as the name of the resource it
+    * concerns; or null if no ordering is required.
+    */
+   Object getOrderingKey();
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus.spi;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the event types an {@link EventBusGroomer} is interested in. An annotated groomer is only handed queued
+ * events that are instances of one of these types, and is not called at all if there are none. The events it returns
+ * keep their original positions in the queue; any events it returns that it was not handed are appended at the end.
+ * 
+ * Groomers without this annotation are handed every queued event.
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Grooms
+{
+   Class<?>[] value();
+}
@@ -7,8 +7,13 @@
 package org.jboss.forge.bus;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.enterprise.util.AnnotationLiteral;
 import javax.inject.Inject;
@@ -37,6 +42,7 @@ public class EventBusTest
       return ShrinkWrap.create(JavaArchive.class, "test.jar")
                .addClass(ObserverCaptureExtension.class)
                .addClass(MockEventObserver.class)
+               .addClass(MockIndependentEvent.class)
                .addClass(EventBus.class)
                .addClass(BusEvent.class)
                .addAsManifestResource("META-INF/services/javax.enterprise.inject.spi.Extension")
@@ -65,4 +71,82 @@ public class EventBusTest
       assertEquals(3, observer.getCount());
       assertEquals(1, observer.getCountSpecial());
    }
+
+   @Test
+   public void testIndependentEventsDispatchedInOrderPerKey() throws Exception
+   {
+      for (int i = 0; i < 20; i++)
+      {
+         bus.enqueue(new MockIndependentEvent(i % 2 == 0 ? "even" : "odd", i));
+      }
+
+      bus.setAsync(true);
+      try
+      {
+         bus.fireAll();
+         bus.awaitDispatch();
+      }
+      finally
+      {
+         bus.setAsync(false);
+      }
+
+      List<MockIndependentEvent> delivered = new ArrayList<MockIndependentEvent>(observer.getIndependent());
+      assertEquals(20, delivered.size());
+      assertFalse(observer.getIndependentThreads().contains(Thread.currentThread()));
+
+      int lastEven = -2;
+      int lastOdd = -1;
+      for (MockIndependentEvent event : delivered)
+      {
+         if (event.getOrderingKey().equals("even"))
+         {
+            assertTrue(event.getIndex() > lastEven);
+            lastEven = event.getIndex();
+         }
+         else
+         {
+            assertTrue(event.getIndex() > lastOdd);
+            lastOdd = event.getIndex();
+         }
+      }
+   }
+
+   @Test
+   public void testEventsFiredDuringBackgroundDispatchAreDelivered() throws Exception
+   {
+      int before = observer.getCount();
+      bus.enqueue(new MockIndependentEvent("nested", -1));
+
+      bus.setAsync(true);
+      try
+      {
+         bus.fireAll();
+         bus.awaitDispatch();
+      }
+      finally
+      {
+         bus.setAsync(false);
+      }
+
+      assertEquals(before + 1, observer.getCount());
+   }
+
+   @Test
+   public void testSynchronousObserverFailuresAreReported() throws Exception
+   {
+      bus.enqueue(new MockIndependentEvent("failing", 0));
+      bus.fireAll();
+
+      try
+      {
+         bus.awaitDispatch();
+         fail("Observer failure was not reported");
+      }
+      catch (EventBusQueuedException e)
+      {
+         assertEquals(1, e.getQueuedExceptions().size());
+      }
+      bus.awaitDispatch();
+   }
 }
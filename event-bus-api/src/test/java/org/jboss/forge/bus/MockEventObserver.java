@@ -6,8 +6,14 @@
  */
 package org.jboss.forge.bus;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -16,8 +22,14 @@ import javax.enterprise.event.Observes;
 @ApplicationScoped
 public class MockEventObserver
 {
+   @Inject
+   private BeanManager manager;
+
    private int count = 0;
    private int countSpecial = 0;
+   private final List<MockIndependentEvent> independent = Collections
+            .synchronizedList(new ArrayList<MockIndependentEvent>());
+   private final List<Thread> independentThreads = Collections.synchronizedList(new ArrayList<Thread>());
 
    public void observe(@Observes final MockEvent event)
    {
@@ -29,6 +41,20 @@ public class MockEventObserver
       countSpecial++;
    }
 
+   public void observeIndependent(@Observes final MockIndependentEvent event)
+   {
+      independent.add(event);
+      independentThreads.add(Thread.currentThread());
+      if (event.getIndex() < 0)
+      {
+         manager.fireEvent(new MockEvent());
+      }
+      if ("failing".equals(event.getOrderingKey()))
+      {
+         throw new IllegalStateException("Observer failed");
+      }
+   }
+
    public int getCount()
    {
       return count;
@@ -38,4 +64,14 @@ public class MockEventObserver
    {
       return countSpecial;
    }
+
+   public List<MockIndependentEvent> getIndependent()
+   {
+      return independent;
+   }
+
+   public List<Thread> getIndependentThreads()
+   {
+      return independentThreads;
+   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus;
+
+import org.jboss.forge.bus.event.BusEvent;
+import org.jboss.forge.bus.event.IndependentEvent;
+
+@BusEvent
+public class MockIndependentEvent implements IndependentEvent
+{
+   private final String key;
+   private final int index;
+
+   public MockIndependentEvent(final String key, final int index)
+   {
+      this.key = key;
+      this.index = index;
+   }
+
+   @Override
+   public Object getOrderingKey()
+   {
+      return key;
+   }
+
+   public int getIndex()
+   {
+      return index;
+   }
+}
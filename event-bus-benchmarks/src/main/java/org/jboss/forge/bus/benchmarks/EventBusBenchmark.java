@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.bus.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.forge.bus.EventBus;
+import org.jboss.forge.bus.cdi.BusManaged;
+import org.jboss.forge.bus.cdi.ObserverCaptureExtension;
+import org.jboss.forge.bus.event.BusEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost the {@link EventBus} adds to every event fired in the container. One million events, of which one
+ * in ten is a {@link BusEvent} through a stereotype, as Forge's own queued events are, are offered to the bus the way
+ * its catch-all observer does; the queued bus events are then fired to a single qualified observer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventBusBenchmark
+{
+   public static final int EVENTS = 1000000;
+
+   private EventBus bus;
+   private Object[] events;
+   private int fired;
+
+   @Setup(Level.Trial)
+   public void createBus() throws Exception
+   {
+      ObserverCaptureExtension extension = new ObserverCaptureExtension();
+      List<BusManaged> qualifiers = new ArrayList<BusManaged>();
+      qualifiers.add(new BusManaged()
+      {
+         @Override
+         public Class<? extends Annotation> annotationType()
+         {
+            return BusManaged.class;
+         }
+
+         @Override
+         public String value()
+         {
+            return "0";
+         }
+
+         @Override
+         public String method()
+         {
+            return "observe";
+         }
+      });
+      extension.getEventQualifierMap().put(QueuedEvent.class, qualifiers);
+
+      BeanManager manager = (BeanManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+               new Class<?>[] { BeanManager.class }, new InvocationHandler()
+               {
+                  @Override
+                  public Object invoke(final Object proxy, final Method method, final Object[] args)
+                  {
+                     if ("fireEvent".equals(method.getName()))
+                     {
+                        fired++;
+                     }
+                     return null;
+                  }
+               });
+
+      bus = new EventBus();
+      inject(bus, "manager", manager);
+      inject(bus, "extension", extension);
+
+      events = new Object[EVENTS];
+      for (int i = 0; i < EVENTS; i++)
+      {
+         switch (i % 10)
+         {
+         case 0:
+            events[i] = new QueuedEvent();
+            break;
+         case 1:
+         case 2:
+         case 3:
+            events[i] = new PlainEvent();
+            break;
+         default:
+            events[i] = new OtherEvent();
+            break;
+         }
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(EVENTS)
+   public int observeAndFire()
+   {
+      for (Object event : events)
+      {
+         if (bus.handles(event) && !bus.hasQueued(event))
+         {
+            bus.enqueue(event);
+         }
+      }
+      bus.fireAll();
+      return fired;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(EVENTS)
+   public int handles()
+   {
+      int result = 0;
+      for (Object event : events)
+      {
+         if (bus.handles(event))
+         {
+            result++;
+         }
+      }
+      return result;
+   }
+
+   private static void inject(final Object target, final String name, final Object value) throws Exception
+   {
+      Field field = target.getClass().getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(target, value);
+   }
+
+   @BusEvent
+   @Retention(RetentionPolicy.RUNTIME)
+   public @interface Queued
+   {
+   }
+
+   @Retention(RetentionPolicy.RUNTIME)
+   public @interface Tagged
+   {
+   }
+
+   @Queued
+   public static class QueuedEvent
+   {
+   }
+
+   @Tagged
+   public static class PlainEvent
+   {
+   }
+
+   public static class OtherEvent
+   {
+   }
+}
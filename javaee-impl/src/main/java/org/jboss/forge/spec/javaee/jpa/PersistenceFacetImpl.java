@@ -7,7 +7,6 @@
 package org.jboss.forge.spec.javaee.jpa;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -15,6 +14,8 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.persistence.Entity;
 
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParseResult;
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.project.dependencies.Dependency;
@@ -139,37 +140,45 @@ public class PersistenceFacetImpl extends BaseJavaEEFacet implements Persistence
 
    private List<JavaClass> findEntitiesInFolder(final DirectoryResource packageFile)
    {
+      List<File> files = new ArrayList<File>();
+      collectJavaFiles(packageFile, files);
+
       List<JavaClass> result = new ArrayList<JavaClass>();
+      for (ParseResult parsed : JavaParser.parseAll(files))
+      {
+         if (!parsed.isSuccessful())
+         {
+            throw new IllegalStateException(parsed.getError());
+         }
+         JavaSource<?> javaClass = parsed.getJavaSource();
+         if (javaClass.hasAnnotation(Entity.class) && javaClass.isClass())
+         {
+            result.add((JavaClass) javaClass);
+         }
+      }
+      return result;
+   }
+
+   private void collectJavaFiles(final DirectoryResource packageFile, final List<File> files)
+   {
       if (packageFile.exists())
       {
-         for (Resource<?> source : packageFile.listResources())
+         List<Resource<?>> resources = packageFile.listResources();
+         for (Resource<?> source : resources)
          {
             if (source instanceof JavaResource)
             {
-               try
-               {
-                  JavaSource<?> javaClass = ((JavaResource) source).getJavaSource();
-                  if (javaClass.hasAnnotation(Entity.class) && javaClass.isClass())
-                  {
-                     result.add((JavaClass) javaClass);
-                  }
-               }
-               catch (FileNotFoundException e)
-               {
-                  throw new IllegalStateException(e);
-               }
+               files.add(((JavaResource) source).getUnderlyingResourceObject());
             }
          }
 
-         for (Resource<?> source : packageFile.listResources())
+         for (Resource<?> source : resources)
          {
             if (source instanceof DirectoryResource)
             {
-               List<JavaClass> subResults = findEntitiesInFolder((DirectoryResource) source);
-               result.addAll(subResults);
+               collectJavaFiles((DirectoryResource) source, files);
             }
          }
       }
-      return result;
    }
 }
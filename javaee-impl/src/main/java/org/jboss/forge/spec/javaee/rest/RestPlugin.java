@@ -35,6 +35,7 @@ import org.jboss.forge.project.Project;
 import org.jboss.forge.project.facets.JavaSourceFacet;
 import org.jboss.forge.project.facets.events.InstallFacets;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceTransaction;
 import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.shell.PromptType;
 import org.jboss.forge.shell.ShellMessages;
@@ -149,6 +150,8 @@ public class RestPlugin implements Plugin
       }
 
       final JavaSourceFacet java = project.getFacet(JavaSourceFacet.class);
+      ResourceTransaction transaction = new ResourceTransaction();
+      List<String> generated = new ArrayList<String>();
       for (JavaResource jr : javaTargets)
       {
          JavaClass entity = (JavaClass) (jr).getJavaSource();
@@ -183,19 +186,25 @@ public class RestPlugin implements Plugin
          resource.setPackage(java.getBasePackage() + ".rest");
 
          /*
-          * Save the sources
+          * Stage the sources; they are all written together once every target has been processed
           */
-         java.saveJavaSource(entity);
+         transaction.setContents(java.getJavaResource(entity), entity.toString());
 
          if (!java.getJavaResource(resource).exists()
                   || prompt.promptBoolean("Endpoint [" + resource.getQualifiedName() + "] already, exists. Overwrite?"))
          {
-            java.saveJavaSource(resource);
-            ShellMessages.success(out, "Generated REST endpoint for [" + entity.getQualifiedName() + "]");
+            transaction.setContents(java.getJavaResource(resource), resource.toString());
+            generated.add(entity.getQualifiedName());
          }
          else
             ShellMessages.info(out, "Aborted REST endpoint generation for [" + entity.getQualifiedName() + "]");
       }
+      transaction.commit();
+
+      for (String name : generated)
+      {
+         ShellMessages.success(out, "Generated REST endpoint for [" + name + "]");
+      }
    }
 
    private String resolveIdType(JavaClass entity)
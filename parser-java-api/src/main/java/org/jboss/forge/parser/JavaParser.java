@@ -11,11 +11,20 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
+import org.jboss.forge.parser.spi.ConfigurableJavaParserProvider;
 import org.jboss.forge.parser.spi.JavaParserProvider;
 
 /**
@@ -27,8 +36,9 @@ public final class JavaParser
 {
    public static ServiceLoader<JavaParserProvider> loader = ServiceLoader.load(JavaParserProvider.class);
    private static List<JavaParserProvider> parsers;
+   private static ExecutorService executor;
 
-   private static JavaParserProvider getParser()
+   private static synchronized JavaParserProvider getParser()
    {
       if (parsers == null)
       {
@@ -54,6 +64,97 @@ public final class JavaParser
       return getParser().parse(file);
    }
 
+   /**
+    * Open and parse each of the given {@link File} instances concurrently. Results are returned in the iteration order
+    * of the given {@link Collection}; a {@link File} that could not be read or parsed is reported through
+    * {@link ParseResult#getError()} rather than failing the entire batch.
+    */
+   public static List<ParseResult> parseAll(final Collection<File> files)
+   {
+      final JavaParserProvider parser = getParser();
+      List<ParseResult> results = new ArrayList<ParseResult>(files.size());
+
+      if (files.size() <= 1)
+      {
+         for (File file : files)
+         {
+            results.add(parse(parser, file));
+         }
+         return results;
+      }
+
+      List<Future<ParseResult>> futures = new ArrayList<Future<ParseResult>>(files.size());
+      for (final File file : files)
+      {
+         futures.add(getExecutor().submit(new Callable<ParseResult>()
+         {
+            @Override
+            public ParseResult call() throws Exception
+            {
+               return parse(parser, file);
+            }
+         }));
+      }
+
+      try
+      {
+         for (Future<ParseResult> future : futures)
+         {
+            results.add(future.get());
+         }
+      }
+      catch (InterruptedException e)
+      {
+         for (Future<ParseResult> future : futures)
+         {
+            future.cancel(true);
+         }
+         Thread.currentThread().interrupt();
+         throw new ParserException("Interrupted while parsing files", e);
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof Error)
+         {
+            throw (Error) e.getCause();
+         }
+         throw new ParserException("Failed to parse files", e.getCause());
+      }
+      return results;
+   }
+
+   private static ParseResult parse(final JavaParserProvider parser, final File file)
+   {
+      try
+      {
+         return new ParseResult(file, parser.parse(file));
+      }
+      catch (Exception e)
+      {
+         return new ParseResult(file, e);
+      }
+   }
+
+   private static synchronized ExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory()
+         {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable)
+            {
+               Thread thread = new Thread(runnable, "JavaParser-" + count.incrementAndGet());
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+      return executor;
+   }
+
    /**
     * Read the given {@link InputStream} and parse the data into a new {@link JavaClass} instance.
     */
@@ -78,6 +179,21 @@ public final class JavaParser
       return getParser().parse(data);
    }
 
+   /**
+    * Parse the given String data into a new {@link JavaSource} instance, resolving bindings only if requested. Skipping
+    * binding resolution makes parsing cheaper when the result is only read or re-emitted; providers that do not
+    * implement {@link ConfigurableJavaParserProvider} always resolve bindings.
+    */
+   public static JavaSource<?> parse(final String data, final boolean resolveBindings)
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ConfigurableJavaParserProvider)
+      {
+         return ((ConfigurableJavaParserProvider) parser).parse(data, resolveBindings);
+      }
+      return parser.parse(data);
+   }
+
    /**
     * Create a new empty {@link JavaClass} instance.
     */
@@ -119,4 +235,19 @@ public final class JavaParser
    {
       return getParser().parse(type, data);
    }
+
+   /**
+    * Read the given string and parse its data into a new {@link JavaSource} instance of the given type, resolving
+    * bindings only if requested.
+    */
+   public static <T extends JavaSource<?>> T parse(final Class<T> type, final String data, final boolean resolveBindings)
+   {
+      JavaSource<?> source = parse(data, resolveBindings);
+      if (type.isInstance(source))
+      {
+         return type.cast(source);
+      }
+      throw new ParserException("Source does not represent a [" + type.getSimpleName() + "], instead was ["
+               + source.getClass().getSimpleName() + "] - Cannot convert.");
+   }
 }
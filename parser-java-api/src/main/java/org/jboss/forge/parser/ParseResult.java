@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.parser;
+
+import java.io.File;
+import java.util.Collection;
+
+import org.jboss.forge.parser.java.JavaSource;
+
+/**
+ * The outcome of parsing a single {@link File} as part of {@link JavaParser#parseAll(Collection)}. Holds either the
+ * parsed {@link JavaSource} or the {@link Exception} that prevented it from being parsed.
+ */
+public class ParseResult
+{
+   private final File file;
+   private final JavaSource<?> source;
+   private final Exception error;
+
+   public ParseResult(final File file, final JavaSource<?> source)
+   {
+      this.file = file;
+      this.source = source;
+      this.error = null;
+   }
+
+   public ParseResult(final File file, final Exception error)
+   {
+      this.file = file;
+      this.source = null;
+      this.error = error;
+   }
+
+   /**
+    * Get the {@link File} that was parsed.
+    */
+   public File getFile()
+   {
+      return file;
+   }
+
+   /**
+    * Get the parsed {@link JavaSource}, or null if parsing failed.
+    */
+   public JavaSource<?> getJavaSource()
+   {
+      return source;
+   }
+
+   /**
+    * Get the {@link Exception} thrown while parsing, or null if parsing succeeded.
+    */
+   public Exception getError()
+   {
+      return error;
+   }
+
+   /**
+    * Return true if the {@link File} was parsed successfully.
+    */
+   public boolean isSuccessful()
+   {
+      return error == null;
+   }
+
+   @Override
+   public String toString()
+   {
+      return file + (isSuccessful() ? "" : " (" + error.getMessage() + ")");
+   }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.parser.spi;
+
+import org.jboss.forge.parser.java.JavaSource;
+
+/**
+ * A {@link JavaParserProvider} that accepts options for individual parses. Providers need not implement this
+ * interface; parses requesting options from a provider that does not are performed with the default options.
+ */
+public interface ConfigurableJavaParserProvider extends JavaParserProvider
+{
+   /**
+    * Parse the given String data into a new {@link JavaSource} instance, resolving bindings only if requested.
+    */
+   public JavaSource<?> parse(final String data, final boolean resolveBindings);
+}
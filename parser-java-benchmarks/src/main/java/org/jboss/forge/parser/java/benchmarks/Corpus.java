@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.parser.java.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a deterministic corpus of entity-like class sources, similar in shape to those produced by the Forge
+ * persistence and scaffold plugins.
+ */
+public final class Corpus
+{
+   private Corpus()
+   {
+   }
+
+   /**
+    * Generate the source of a class with the given index and number of properties.
+    */
+   public static String generate(final int index, final int properties)
+   {
+      StringBuilder result = new StringBuilder();
+      result.append("package org.example.model;\n\n");
+      result.append("import java.io.Serializable;\n");
+      result.append("import javax.persistence.Column;\n");
+      result.append("import javax.persistence.Entity;\n");
+      result.append("import javax.persistence.Id;\n\n");
+      result.append("@Entity\n");
+      result.append("public class Entity").append(index).append(" implements Serializable\n{\n");
+      result.append("   private static final long serialVersionUID = ").append(index).append("L;\n\n");
+      result.append("   @Id\n   private Long id;\n\n");
+      for (int i = 0; i < properties; i++)
+      {
+         result.append("   @Column(name = \"property_").append(i).append("\", nullable = false)\n");
+         result.append("   private String property").append(i).append(";\n\n");
+      }
+      for (int i = 0; i < properties; i++)
+      {
+         result.append("   public String getProperty").append(i).append("()\n   {\n");
+         result.append("      return this.property").append(i).append(";\n   }\n\n");
+         result.append("   public void setProperty").append(i).append("(final String property").append(i)
+                  .append(")\n   {\n");
+         result.append("      this.property").append(i).append(" = property").append(i).append(";\n   }\n\n");
+      }
+      result.append("   @Override\n   public String toString()\n   {\n");
+      result.append("      return getClass().getSimpleName() + \"[\" + id + \"]\";\n   }\n");
+      result.append("}\n");
+      return result.toString();
+   }
+
+   /**
+    * Generate the given number of class sources.
+    */
+   public static List<String> generateAll(final int size, final int properties)
+   {
+      List<String> result = new ArrayList<String>(size);
+      for (int i = 0; i < size; i++)
+      {
+         result.add(generate(i, properties));
+      }
+      return result;
+   }
+
+   /**
+    * Write the given sources to individual files in the given directory.
+    */
+   public static List<File> write(final File directory, final List<String> sources) throws IOException
+   {
+      List<File> result = new ArrayList<File>(sources.size());
+      for (int i = 0; i < sources.size(); i++)
+      {
+         File file = new File(directory, "Entity" + i + ".java");
+         OutputStream out = new FileOutputStream(file);
+         try
+         {
+            out.write(sources.get(i).getBytes("UTF-8"));
+         }
+         finally
+         {
+            out.close();
+         }
+         result.add(file);
+      }
+      return result;
+   }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.parser.java.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParseResult;
+import org.jboss.forge.parser.java.JavaClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parser hot path: parsing, mutating and printing sources from a generated {@link Corpus}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParserBenchmark
+{
+   @Param({ "50" })
+   public int size;
+
+   @Param({ "20" })
+   public int properties;
+
+   private List<String> sources;
+   private List<JavaClass> printable;
+   private File directory;
+   private List<File> files;
+
+   @Setup(Level.Trial)
+   public void createCorpus() throws IOException
+   {
+      sources = Corpus.generateAll(size, properties);
+
+      directory = File.createTempFile("forge-parser-benchmark", "");
+      directory.delete();
+      directory.mkdirs();
+      files = Corpus.write(directory, sources);
+      printable = parse();
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteCorpus()
+   {
+      for (File file : files)
+      {
+         file.delete();
+      }
+      directory.delete();
+   }
+
+   @Benchmark
+   public List<JavaClass> parse()
+   {
+      List<JavaClass> result = new ArrayList<JavaClass>(sources.size());
+      for (String source : sources)
+      {
+         result.add(JavaParser.parse(JavaClass.class, source));
+      }
+      return result;
+   }
+
+   @Benchmark
+   public List<ParseResult> parseAll()
+   {
+      return JavaParser.parseAll(files);
+   }
+
+   @Benchmark
+   public List<JavaClass> mutate(final Fresh fresh)
+   {
+      for (JavaClass javaClass : fresh.parsed)
+      {
+         javaClass.addField("private int version;").addAnnotation("javax.persistence.Version");
+         javaClass.addMethod("public int getVersion() { return this.version; }");
+         javaClass.getField("property0").addAnnotation("javax.validation.constraints.NotNull");
+      }
+      return fresh.parsed;
+   }
+
+   @Benchmark
+   public int print()
+   {
+      int length = 0;
+      for (JavaClass javaClass : printable)
+      {
+         length += javaClass.toString().length();
+      }
+      return length;
+   }
+
+   /**
+    * Sources parsed anew before each invocation, so that mutations do not accumulate.
+    */
+   @State(Scope.Thread)
+   public static class Fresh
+   {
+      private List<JavaClass> parsed;
+
+      @Setup(Level.Invocation)
+      public void parse(final ParserBenchmark benchmark)
+      {
+         parsed = benchmark.parse();
+      }
+   }
+}
@@ -12,7 +12,6 @@ import java.util.List;
 import java.util.ServiceLoader;
 
 import org.eclipse.jdt.core.compiler.IProblem;
-import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
 import org.eclipse.jdt.core.dom.BodyDeclaration;
@@ -25,7 +24,6 @@ import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jface.text.Document;
 import org.eclipse.text.edits.TextEdit;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.ParserException;
 import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.Import;
@@ -782,21 +780,16 @@ public abstract class AbstractJavaSource<O extends JavaSource<O>> implements
    {
       if (!this.hasInterface(type))
       {
-         Type interfaceType = JDTHelper.getInterfaces(
-                  JavaParser.parse(JavaInterfaceImpl.class,
-                           "public interface Mock extends " + Types.toSimpleName(type)
-                                    + " {}").getBodyDeclaration()).get(0);
-
+         String interfaceName = Types.toSimpleName(type);
          if (this.hasInterface(Types.toSimpleName(type)) || this.hasImport(Types.toSimpleName(type)))
          {
-            interfaceType = JDTHelper.getInterfaces(JavaParser.parse(JavaInterfaceImpl.class,
-                     "public interface Mock extends " + type + " {}").getBodyDeclaration()).get(0);
+            interfaceName = type;
          }
 
          this.addImport(type);
 
-         ASTNode node = ASTNode.copySubtree(unit.getAST(), interfaceType);
-         JDTHelper.getInterfaces(getBodyDeclaration()).add((Type) node);
+         Type interfaceType = FragmentParser.parseType(unit.getAST(), interfaceName);
+         JDTHelper.getInterfaces(getBodyDeclaration()).add(interfaceType);
       }
       return (O) this;
    }
@@ -899,4 +892,4 @@ public abstract class AbstractJavaSource<O extends JavaSource<O>> implements
       return result;
    }
 
-}
\ No newline at end of file
+}
@@ -19,8 +19,8 @@ import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.Name;
 import org.eclipse.jdt.core.dom.PrimitiveType;
 import org.eclipse.jdt.core.dom.PrimitiveType.Code;
+import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
 import org.eclipse.jdt.core.dom.TypeLiteral;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.AnnotationElement;
 import org.jboss.forge.parser.java.JavaAnnotation;
@@ -99,11 +99,11 @@ public class AnnotationElementImpl implements AnnotationElement
          }
          else
          {
-            String stub = "public @interface Stub { String stub() default " + value + "; }";
-            JavaAnnotation temp = (JavaAnnotation) JavaParser.parse(stub);
-            AnnotationTypeMemberDeclaration internal = (AnnotationTypeMemberDeclaration) temp.getAnnotationElements()
-                     .get(0).getInternal();
-            member.setDefault((Expression) ASTNode.copySubtree(ast, internal.getDefault()));
+            SingleMemberAnnotation stub = (SingleMemberAnnotation) FragmentParser.parseAnnotation(ast, "@Stub("
+                     + value + ")");
+            Expression expression = stub.getValue();
+            stub.setValue(ast.newNullLiteral());
+            member.setDefault(expression);
          }
          return this;
       }
@@ -315,11 +315,7 @@ public class AnnotationElementImpl implements AnnotationElement
       {
          declaration = declaration + ";";
       }
-      String stub = "public @interface Stub { " + declaration + " }";
-      JavaAnnotation temp = (JavaAnnotation) JavaParser.parse(stub);
-      List<AnnotationElement> fields = temp.getAnnotationElements();
-      AnnotationTypeMemberDeclaration newField = (AnnotationTypeMemberDeclaration) fields.get(0).getInternal();
-      return (AnnotationTypeMemberDeclaration) ASTNode.copySubtree(((ASTNode) parent.getInternal()).getAST(), newField);
+      return FragmentParser.parseAnnotationElement(((ASTNode) parent.getInternal()).getAST(), declaration);
    }
 
    @Override
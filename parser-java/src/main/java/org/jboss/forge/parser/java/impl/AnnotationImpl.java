@@ -23,10 +23,8 @@ import org.eclipse.jdt.core.dom.NormalAnnotation;
 import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.core.dom.TypeLiteral;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.AnnotationTarget;
-import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Type;
 import org.jboss.forge.parser.java.ValuePair;
@@ -291,10 +289,8 @@ public class AnnotationImpl<O extends JavaSource<O>, T> implements Annotation<O>
       {
          SingleMemberAnnotation sa = (SingleMemberAnnotation) annotation;
 
-         String stub = "@" + getName() + "(" + value + ") public class Stub { }";
-         JavaClass temp = (JavaClass) JavaParser.parse(stub);
-
-         SingleMemberAnnotation anno = (SingleMemberAnnotation) temp.getAnnotations().get(0).getInternal();
+         SingleMemberAnnotation anno = (SingleMemberAnnotation) FragmentParser.parseAnnotation(ast, "@" + getName()
+                  + "(" + value + ")");
 
          Expression expression = anno.getValue();
          sa.setValue((Expression) ASTNode.copySubtree(ast, expression));
@@ -328,10 +324,8 @@ public class AnnotationImpl<O extends JavaSource<O>, T> implements Annotation<O>
 
       NormalAnnotation na = (NormalAnnotation) annotation;
 
-      String stub = "@" + getName() + "(" + name + "=" + value + " ) public class Stub { }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-
-      NormalAnnotation anno = (NormalAnnotation) temp.getAnnotations().get(0).getInternal();
+      NormalAnnotation anno = (NormalAnnotation) FragmentParser.parseAnnotation(ast, "@" + getName() + "(" + name
+               + "=" + value + " )");
       MemberValuePair mvp = (MemberValuePair) anno.values().get(0);
 
       List<MemberValuePair> values = na.values();
@@ -558,10 +552,8 @@ public class AnnotationImpl<O extends JavaSource<O>, T> implements Annotation<O>
       }
       Annotation<O> result = new Nested(this);
       
-      String stub = "@" + getName() + "(" + name + "= 0 ) public class Stub { }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-
-      NormalAnnotation anno = (NormalAnnotation) temp.getAnnotations().get(0).getInternal();
+      NormalAnnotation anno = (NormalAnnotation) FragmentParser.parseAnnotation(annotation.getAST(), "@" + getName()
+               + "(" + name + "= 0 )");
       MemberValuePair mvp = (MemberValuePair) anno.values().get(0);
 
       @SuppressWarnings("unchecked")
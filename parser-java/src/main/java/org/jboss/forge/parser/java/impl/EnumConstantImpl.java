@@ -6,14 +6,10 @@
  */
 package org.jboss.forge.parser.java.impl;
 
-import java.util.List;
-
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.EnumConstant;
-import org.jboss.forge.parser.java.JavaEnum;
 import org.jboss.forge.parser.java.JavaSource;
 
 public class EnumConstantImpl<O extends JavaSource<O>> implements EnumConstant<O>
@@ -37,12 +33,7 @@ public class EnumConstantImpl<O extends JavaSource<O>> implements EnumConstant<O
    {
       init(parent);
 
-      String stub = "public enum Stub { " + declaration + " }";
-      JavaEnum temp = (JavaEnum) JavaParser.parse(stub);
-      List<EnumConstant<JavaEnum>> constants = temp.getEnumConstants();
-      EnumConstantDeclaration newField = (EnumConstantDeclaration) constants.get(0).getInternal();
-      EnumConstantDeclaration subtree = (EnumConstantDeclaration) ASTNode.copySubtree(ast, newField);
-      this.enumConstant = subtree;
+      this.enumConstant = FragmentParser.parseEnumConstant(ast, declaration);
    }
    
    public EnumConstantImpl(final O parent, final Object internal)
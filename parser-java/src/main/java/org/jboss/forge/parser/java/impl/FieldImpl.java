@@ -19,10 +19,8 @@ import org.eclipse.jdt.core.dom.PrimitiveType;
 import org.eclipse.jdt.core.dom.PrimitiveType.Code;
 import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.Field;
-import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Visibility;
 import org.jboss.forge.parser.java.ast.AnnotationAccessor;
@@ -58,12 +56,7 @@ public class FieldImpl<O extends JavaSource<O>> implements Field<O>
    {
       init(parent);
 
-      String stub = "public class Stub { " + declaration + " }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Field<JavaClass>> fields = temp.getFields();
-      FieldDeclaration newField = (FieldDeclaration) fields.get(0).getInternal();
-      FieldDeclaration subtree = (FieldDeclaration) ASTNode.copySubtree(ast, newField);
-      this.field = subtree;
+      this.field = FragmentParser.parseField(ast, declaration);
    }
 
    public FieldImpl(final O parent, final Object internal)
@@ -448,9 +441,7 @@ public class FieldImpl<O extends JavaSource<O>> implements Field<O>
    @Override
    public Field<O> setLiteralInitializer(final String value)
    {
-      String stub = "public class Stub { private String stub = " + value + " }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      FieldDeclaration internal = (FieldDeclaration) temp.getFields().get(0).getInternal();
+      FieldDeclaration internal = FragmentParser.parseField(ast, "private String stub = " + value + ";");
 
       for (Object f : internal.fragments())
       {
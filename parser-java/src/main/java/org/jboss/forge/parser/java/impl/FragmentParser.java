@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.parser.java.impl;
+
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.AnnotationTypeMemberDeclaration;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.spi.JavaParserImpl;
+
+/**
+ * Parses source fragments (members, types and annotations) directly into detached nodes owned by a target {@link AST},
+ * without building a complete {@link org.jboss.forge.parser.java.JavaSource} for a stub class. Fragments are parsed as
+ * class body declarations wherever the Java grammar allows it; enum constants and annotation elements, which may not
+ * appear in a class body, and malformed input, require a (binding-free) compilation unit parse.
+ */
+public class FragmentParser
+{
+   /**
+    * Parse the given field declaration, e.g. <code>private String name = "value";</code>
+    */
+   public static FieldDeclaration parseField(final AST ast, final String declaration)
+   {
+      return (FieldDeclaration) copy(ast, parseBodyDeclaration(declaration, FieldDeclaration.class));
+   }
+
+   /**
+    * Parse the given method declaration, including its body, e.g. <code>public void go() { }</code>
+    */
+   public static MethodDeclaration parseMethod(final AST ast, final String declaration)
+   {
+      return (MethodDeclaration) copy(ast, parseBodyDeclaration(declaration, MethodDeclaration.class));
+   }
+
+   /**
+    * Parse the given type reference, e.g. <code>java.util.List&lt;String&gt;</code>
+    */
+   public static Type parseType(final AST ast, final String type)
+   {
+      FieldDeclaration field = (FieldDeclaration) parseBodyDeclaration(type + " stub;", FieldDeclaration.class);
+      return (Type) copy(ast, field.getType());
+   }
+
+   /**
+    * Parse the given annotation, e.g. <code>@Column(name = "id")</code>. Annotation values may be any element value
+    * permitted by the Java grammar, including array initializers and nested annotations.
+    */
+   public static Annotation parseAnnotation(final AST ast, final String annotation)
+   {
+      MethodDeclaration method = (MethodDeclaration) parseBodyDeclaration(annotation + " void stub();",
+               MethodDeclaration.class);
+      for (Object modifier : method.modifiers())
+      {
+         if (modifier instanceof Annotation)
+         {
+            return (Annotation) copy(ast, (Annotation) modifier);
+         }
+      }
+      throw new ParserException("Could not parse annotation [" + annotation + "]");
+   }
+
+   /**
+    * Parse the given enum constant declaration, e.g. <code>RED("#FF0000")</code>
+    */
+   public static EnumConstantDeclaration parseEnumConstant(final AST ast, final String declaration)
+   {
+      AbstractTypeDeclaration type = parseTypeDeclaration("enum Stub { " + declaration + " }");
+      List<?> constants = ((EnumDeclaration) type).enumConstants();
+      if (constants.isEmpty())
+      {
+         throw new ParserException("Could not parse enum constant [" + declaration + "]");
+      }
+      return (EnumConstantDeclaration) copy(ast, (ASTNode) constants.get(0));
+   }
+
+   /**
+    * Parse the given annotation element declaration, e.g. <code>String value() default "";</code>
+    */
+   public static AnnotationTypeMemberDeclaration parseAnnotationElement(final AST ast, final String declaration)
+   {
+      AbstractTypeDeclaration type = parseTypeDeclaration("@interface Stub { " + declaration + " }");
+      for (Object body : type.bodyDeclarations())
+      {
+         if (body instanceof AnnotationTypeMemberDeclaration)
+         {
+            return (AnnotationTypeMemberDeclaration) copy(ast, (ASTNode) body);
+         }
+      }
+      throw new ParserException("Could not parse annotation element [" + declaration + "]");
+   }
+
+   private static BodyDeclaration parseBodyDeclaration(final String declaration,
+            final Class<? extends BodyDeclaration> type)
+   {
+      ASTParser parser = JavaParserImpl.createParser(ASTParser.K_CLASS_BODY_DECLARATIONS);
+      parser.setSource(declaration.toCharArray());
+      ASTNode result = parser.createAST(null);
+
+      if (result instanceof TypeDeclaration)
+      {
+         BodyDeclaration body = findBodyDeclaration((TypeDeclaration) result, type);
+         if (body != null)
+         {
+            return body;
+         }
+      }
+
+      /*
+       * The body declaration parser does not recover from malformed input (such as a method without a body), whereas a
+       * full compilation unit parse does. Fall back to the latter so that lenient input is still accepted.
+       */
+      BodyDeclaration body = findBodyDeclaration(parseTypeDeclaration("class Stub { " + declaration + " }"), type);
+      if (body != null)
+      {
+         return body;
+      }
+      throw new ParserException("Could not parse [" + declaration + "] as a " + type.getSimpleName());
+   }
+
+   private static BodyDeclaration findBodyDeclaration(final AbstractTypeDeclaration declaration,
+            final Class<? extends BodyDeclaration> type)
+   {
+      for (Object body : declaration.bodyDeclarations())
+      {
+         if (type.isInstance(body))
+         {
+            return (BodyDeclaration) body;
+         }
+      }
+      return null;
+   }
+
+   private static AbstractTypeDeclaration parseTypeDeclaration(final String source)
+   {
+      ASTParser parser = JavaParserImpl.createParser(ASTParser.K_COMPILATION_UNIT);
+      parser.setSource(source.toCharArray());
+      CompilationUnit unit = (CompilationUnit) parser.createAST(null);
+
+      List<?> types = unit.types();
+      if (types.isEmpty())
+      {
+         throw new ParserException("Could not parse [" + source + "]");
+      }
+      return (AbstractTypeDeclaration) types.get(0);
+   }
+
+   private static ASTNode copy(final AST ast, final ASTNode node)
+   {
+      return ASTNode.copySubtree(ast, node);
+   }
+}
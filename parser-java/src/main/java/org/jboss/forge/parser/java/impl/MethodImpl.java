@@ -11,7 +11,6 @@ import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
@@ -20,9 +19,7 @@ import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.core.dom.Statement;
 import org.eclipse.jdt.core.dom.VariableDeclaration;
-import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.Annotation;
-import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Method;
 import org.jboss.forge.parser.java.Parameter;
@@ -69,12 +66,7 @@ public class MethodImpl<O extends JavaSource<O>> implements Method<O>
    {
       init(parent);
 
-      String stub = "public class Stub { " + method + " }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Method<JavaClass>> methods = temp.getMethods();
-      MethodDeclaration newMethod = (MethodDeclaration) methods.get(0).getInternal();
-      MethodDeclaration subtree = (MethodDeclaration) ASTNode.copySubtree(cu.getAST(), newMethod);
-      this.method = subtree;
+      this.method = FragmentParser.parseMethod(cu.getAST(), method);
    }
 
    @Override
@@ -182,12 +174,9 @@ public class MethodImpl<O extends JavaSource<O>> implements Method<O>
    @Override
    public Method<O> setBody(final String body)
    {
-      String stub = "public class Stub { public void method() {" + body + "} }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Method<JavaClass>> methods = temp.getMethods();
-      Block block = ((MethodDeclaration) methods.get(0).getInternal()).getBody();
-
-      block = (Block) ASTNode.copySubtree(method.getAST(), block);
+      MethodDeclaration stub = FragmentParser.parseMethod(method.getAST(), "public void method() {" + body + "}");
+      Block block = stub.getBody();
+      stub.setBody(null);
       method.setBody(block);
 
       return this;
@@ -254,12 +243,7 @@ public class MethodImpl<O extends JavaSource<O>> implements Method<O>
    @Override
    public Method<O> setReturnType(final String typeName)
    {
-      String stub = "public class Stub { public " + typeName + " method() {} }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Method<JavaClass>> methods = temp.getMethods();
-      org.eclipse.jdt.core.dom.Type returnType = ((MethodDeclaration) methods.get(0).getInternal()).getReturnType2();
-
-      returnType = (org.eclipse.jdt.core.dom.Type) ASTNode.copySubtree(method.getAST(), returnType);
+      org.eclipse.jdt.core.dom.Type returnType = FragmentParser.parseType(method.getAST(), typeName);
       method.setReturnType2(returnType);
 
       return this;
@@ -361,17 +345,13 @@ public class MethodImpl<O extends JavaSource<O>> implements Method<O>
    @SuppressWarnings("unchecked")
    public Method<O> setParameters(final String parameters)
    {
-      String stub = "public class Stub { public void method( " + parameters + " ) {} }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Method<JavaClass>> methods = temp.getMethods();
-      List<VariableDeclaration> astParameters = ((MethodDeclaration) methods.get(0).getInternal()).parameters();
+      MethodDeclaration stub = FragmentParser.parseMethod(method.getAST(), "public void method( " + parameters
+               + " ) {}");
+      List<VariableDeclaration> astParameters = new ArrayList<VariableDeclaration>(stub.parameters());
+      stub.parameters().clear();
 
       method.parameters().clear();
-      for (VariableDeclaration declaration : astParameters)
-      {
-         VariableDeclaration copy = (VariableDeclaration) ASTNode.copySubtree(method.getAST(), declaration);
-         method.parameters().add(copy);
-      }
+      method.parameters().addAll(astParameters);
 
       return this;
    }
@@ -10,15 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ArrayType;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.ParameterizedType;
-import org.jboss.forge.parser.JavaParser;
-import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
-import org.jboss.forge.parser.java.Method;
 import org.jboss.forge.parser.java.Type;
 import org.jboss.forge.parser.java.util.Types;
 
@@ -55,13 +50,7 @@ public class TypeImpl<O extends JavaSource<O>> implements Type<O>
       init(origin);
       this.parent = parent;
 
-      String stub = "public class Stub { private " + type + " getType(){return null;} }";
-      JavaClass temp = (JavaClass) JavaParser.parse(stub);
-      List<Method<JavaClass>> methods = temp.getMethods();
-      MethodDeclaration newMethod = (MethodDeclaration) methods.get(0).getInternal();
-      org.eclipse.jdt.core.dom.Type subtree = (org.eclipse.jdt.core.dom.Type) ASTNode.copySubtree(cu.getAST(),
-               newMethod.getReturnType2());
-      this.type = subtree;
+      this.type = FragmentParser.parseType(cu.getAST(), type);
    }
 
    public TypeImpl(final O origin, final Type<O> parent, final Object internal)
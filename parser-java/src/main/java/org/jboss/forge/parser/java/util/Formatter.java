@@ -10,6 +10,8 @@ package org.jboss.forge.parser.java.util;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
@@ -24,6 +26,16 @@ import org.jboss.forge.parser.java.JavaClass;
  */
 public abstract class Formatter
 {
+   // TODO locate user's eclipse project settings, use those if we can.
+   private static final Properties OPTIONS = readConfig("org.eclipse.jdt.core.prefs");
+
+   /**
+    * {@link CodeFormatter} instances are expensive to create and are not thread-safe, so idle formatters are kept here
+    * and handed to one caller at a time.
+    */
+   private static final BlockingQueue<CodeFormatter> FORMATTERS = new ArrayBlockingQueue<CodeFormatter>(Runtime
+            .getRuntime().availableProcessors() * 2);
+
    public static String format(JavaClass javaClass)
    {
       return format(javaClass.toString());
@@ -31,11 +43,20 @@ public abstract class Formatter
    
    public static String format(String source)
    {
-       // TODO locate user's eclipse project settings, use those if we can.
-       Properties options = readConfig("org.eclipse.jdt.core.prefs");
+      CodeFormatter codeFormatter = FORMATTERS.poll();
+      if (codeFormatter == null)
+      {
+         codeFormatter = ToolFactory.createCodeFormatter(OPTIONS);
+      }
 
-       final CodeFormatter codeFormatter = ToolFactory.createCodeFormatter(options);
-       return ensureCorrectNewLines(formatFile(source, codeFormatter));
+      try
+      {
+         return ensureCorrectNewLines(formatFile(source, codeFormatter));
+      }
+      finally
+      {
+         FORMATTERS.offer(codeFormatter);
+      }
    }
 
    private static String formatFile(String contents, CodeFormatter codeFormatter)
@@ -12,6 +12,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -42,8 +43,33 @@ import org.jboss.forge.parser.java.impl.JavaInterfaceImpl;
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
-public class JavaParserImpl implements JavaParserProvider
+public class JavaParserImpl implements ConfigurableJavaParserProvider
 {
+   /**
+    * Compiler options are identical for every parse, so build them once. {@link ASTParser} copies the map it is given,
+    * so this instance may be shared between threads.
+    */
+   private static final Map<?, ?> COMPILER_OPTIONS = createCompilerOptions();
+
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   private static Map<?, ?> createCompilerOptions()
+   {
+      Map options = JavaCore.getOptions();
+      options.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_7);
+      options.put(CompilerOptions.OPTION_Encoding, "UTF-8");
+      return Collections.unmodifiableMap(options);
+   }
+
+   /**
+    * Create a new {@link ASTParser} for the given {@link ASTParser} kind, configured with the shared compiler options.
+    */
+   public static ASTParser createParser(final int kind)
+   {
+      ASTParser parser = ASTParser.newParser(AST.JLS4);
+      parser.setCompilerOptions(COMPILER_OPTIONS);
+      parser.setKind(kind);
+      return parser;
+   }
 
    @Override
    public JavaSource<?> parse(final File file) throws FileNotFoundException
@@ -87,20 +113,19 @@ public class JavaParserImpl implements JavaParserProvider
    }
 
    @Override
-   @SuppressWarnings({ "rawtypes", "unchecked" })
    public JavaSource<?> parse(final String data)
+   {
+      return parse(data, true);
+   }
+
+   @Override
+   public JavaSource<?> parse(final String data, final boolean resolveBindings)
    {
       Document document = new Document(data);
-      ASTParser parser = ASTParser.newParser(AST.JLS4);
+      ASTParser parser = createParser(ASTParser.K_COMPILATION_UNIT);
 
       parser.setSource(document.get().toCharArray());
-      Map options = JavaCore.getOptions();
-      options.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_7);
-      options.put(CompilerOptions.OPTION_Encoding, "UTF-8");
-      parser.setCompilerOptions(options);
-
-      parser.setResolveBindings(true);
-      parser.setKind(ASTParser.K_COMPILATION_UNIT);
+      parser.setResolveBindings(resolveBindings);
       CompilationUnit unit = (CompilationUnit) parser.createAST(null);
       unit.recordModifications();
 
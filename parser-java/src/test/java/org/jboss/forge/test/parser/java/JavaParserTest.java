@@ -7,9 +7,16 @@
 
 package org.jboss.forge.test.parser.java;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+
 import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParseResult;
 import org.jboss.forge.parser.ParserException;
 import org.jboss.forge.parser.java.JavaClass;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -22,4 +29,36 @@ public class JavaParserTest
    {
       JavaParser.parse(JavaClass.class, "asdfa$%(*&#$%sdfdsf");
    }
+
+   @Test
+   public void testParseWithoutBindings() throws Exception
+   {
+      JavaClass javaClass = JavaParser.parse(JavaClass.class, "package org.example; public class Foo { private int bar; }",
+               false);
+      javaClass.addField("private String baz;");
+      Assert.assertTrue(javaClass.hasField("bar"));
+      Assert.assertTrue(javaClass.toString().contains("private String baz;"));
+   }
+
+   @Test
+   public void testParseAllPreservesOrderAndReportsErrors() throws Exception
+   {
+      File root = new File("src/test/resources/org/jboss/forge/grammar/java");
+      File missing = new File(root, "DoesNotExist.java");
+      List<File> files = Arrays.asList(new File(root, "MockClass.java"), missing, new File(root, "MockEnum.java"),
+               new File(root, "MockInterface.java"));
+
+      List<ParseResult> results = JavaParser.parseAll(files);
+
+      Assert.assertEquals(4, results.size());
+      for (int i = 0; i < files.size(); i++)
+      {
+         Assert.assertEquals(files.get(i), results.get(i).getFile());
+      }
+      Assert.assertEquals("MockClass", results.get(0).getJavaSource().getName());
+      Assert.assertFalse(results.get(1).isSuccessful());
+      Assert.assertTrue(results.get(1).getError() instanceof FileNotFoundException);
+      Assert.assertTrue(results.get(2).getJavaSource().isEnum());
+      Assert.assertTrue(results.get(3).getJavaSource().isInterface());
+   }
 }
@@ -7,6 +7,7 @@
 
 package org.jboss.forge.test.parser.java.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 
 import java.io.InputStream;
@@ -41,4 +42,12 @@ public class FormatterTest
       String original = javaClass.toString();
       assertNotSame(original, result);
    }
+
+   @Test
+   public void testFormatIsRepeatable() throws Exception
+   {
+      String first = Formatter.format(javaClass);
+      String second = Formatter.format(javaClass);
+      assertEquals(first, second);
+   }
 }
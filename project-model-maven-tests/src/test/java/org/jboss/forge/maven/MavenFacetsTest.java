@@ -8,8 +8,11 @@
 package org.jboss.forge.maven;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -21,7 +24,10 @@ import javax.inject.Singleton;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.project.ProjectBuildingRequest;
 import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.maven.facets.MavenContainer;
+import org.jboss.forge.maven.facets.MavenCoreFacetImpl;
 import org.jboss.forge.maven.util.ProjectModelTest;
 import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.JavaClass;
@@ -52,6 +58,9 @@ public class MavenFacetsTest extends ProjectModelTest
    @Inject
    private ResourceFactory resourceFactory;
 
+   @Inject
+   private MavenContainer container;
+
    private static Project thisProject;
    private static Project testProject;
 
@@ -127,6 +136,40 @@ public class MavenFacetsTest extends ProjectModelTest
       assertEquals(pom.getArtifactId(), result.getArtifactId());
    }
 
+   @Test
+   public void testPOMIsCachedUntilModified() throws Exception
+   {
+      MavenCoreFacetImpl maven = (MavenCoreFacetImpl) getProject().getFacet(MavenCoreFacet.class);
+      Model pom = maven.getPOM();
+      long reads = maven.getPOMReads();
+      long hits = maven.getPOMCacheHits();
+
+      pom.setArtifactId("not-saved");
+      assertFalse("not-saved".equals(maven.getPOM().getArtifactId()));
+      assertEquals(reads, maven.getPOMReads());
+      assertEquals(hits + 1, maven.getPOMCacheHits());
+
+      pom.setArtifactId("saved");
+      maven.setPOM(pom);
+      assertEquals("saved", maven.getPOM().getArtifactId());
+      assertEquals(reads, maven.getPOMReads());
+   }
+
+   @Test
+   public void testSettingsAndRepositorySessionAreReused() throws Exception
+   {
+      assertSame(container.getSettings(), container.getSettings());
+      assertSame(container.getRepositorySession(true), container.getRepositorySession(true));
+      assertNotSame(container.getRepositorySession(true), container.getRepositorySession(false));
+
+      ProjectBuildingRequest first = container.getOfflineRequest();
+      first.setResolveDependencies(true);
+      ProjectBuildingRequest second = container.getOfflineRequest();
+      assertNotSame(first, second);
+      assertFalse(second.isResolveDependencies());
+      assertSame(first.getRepositorySession(), second.getRepositorySession());
+   }
+
    @Test
    public void testProjectIsCurrentProject() throws Exception
    {
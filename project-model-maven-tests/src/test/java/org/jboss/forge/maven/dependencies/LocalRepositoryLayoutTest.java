@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalRepositoryLayoutTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+   }
+
+   @Test
+   public void testArtifactsAreFoundByCoordinates() throws Exception
+   {
+      File jar = install("org.example", "example.core", "1.0", "example.core-1.0.jar");
+      File sources = install("org.example", "example.core", "1.0", "example.core-1.0-sources.jar");
+
+      LocalRepositoryLayout layout = new LocalRepositoryLayout(root);
+      assertEquals(jar, layout.getArtifact("org.example", "example.core", "1.0", null, "jar"));
+      assertEquals(sources, layout.getArtifact("org.example", "example.core", "1.0", "sources", "jar"));
+      assertNull(layout.getArtifact("org.example", "example.core", "1.0", null, "war"));
+      assertNull(layout.getArtifact("org.example", "example.core", "2.0", null, "jar"));
+      assertNull(layout.getArtifact("org.example", "missing", "1.0", null, "jar"));
+   }
+
+   @Test
+   public void testArtifactsInstalledLaterAreFound() throws Exception
+   {
+      LocalRepositoryLayout layout = new LocalRepositoryLayout(root);
+      assertNull(layout.getArtifact("org.example", "example", "1.0", null, "jar"));
+
+      File jar = install("org.example", "example", "1.0", "example-1.0.jar");
+      assertEquals(jar, layout.getArtifact("org.example", "example", "1.0", null, "jar"));
+   }
+
+   private File install(final String groupId, final String artifactId, final String version, final String name)
+            throws Exception
+   {
+      File directory = new File(root, groupId.replace('.', '/') + "/" + artifactId + "/" + version);
+      directory.mkdirs();
+      File result = new File(directory, name);
+      result.createNewFile();
+      return result;
+   }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.repository.internal.MavenRepositorySystemSession;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.repository.LocalRepository;
+import org.sonatype.aether.repository.RemoteRepository;
+import org.sonatype.aether.resolution.ArtifactRequest;
+import org.sonatype.aether.resolution.ArtifactResult;
+import org.sonatype.aether.util.artifact.DefaultArtifact;
+
+public class ParallelArtifactResolverTest
+{
+   private static final String[] VERSIONS = { "1.0", "1.1", "1.2", "2.0", "2.1" };
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+   private RemoteRepository remote;
+   private RepositorySystem system;
+   private MavenRepositorySystemSession session;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+
+      File remoteDir = new File(root, "remote");
+      for (String version : VERSIONS)
+      {
+         if (!"1.1".equals(version))
+         {
+            File dir = new File(remoteDir, "org/example/example/" + version);
+            dir.mkdirs();
+            write(new File(dir, "example-" + version + ".jar"), version);
+         }
+      }
+      remote = new RemoteRepository("test", "default", remoteDir.toURI().toURL().toString());
+
+      system = new DefaultPlexusContainer().lookup(RepositorySystem.class);
+      session = new MavenRepositorySystemSession();
+      session.setLocalRepositoryManager(system.newLocalRepositoryManager(new LocalRepository(new File(root, "local"))));
+   }
+
+   @Test
+   public void testResultsAreInRequestOrder() throws Exception
+   {
+      List<ArtifactResult> results = new ParallelArtifactResolver(system, session).resolve(requests());
+
+      assertEquals(VERSIONS.length, results.size());
+      for (int i = 0; i < VERSIONS.length; i++)
+      {
+         if ("1.1".equals(VERSIONS[i]))
+         {
+            assertNull(results.get(i));
+         }
+         else
+         {
+            assertEquals(VERSIONS[i], results.get(i).getArtifact().getVersion());
+         }
+      }
+   }
+
+   private List<ArtifactRequest> requests()
+   {
+      List<ArtifactRequest> result = new ArrayList<ArtifactRequest>();
+      for (String version : VERSIONS)
+      {
+         ArtifactRequest request = new ArtifactRequest();
+         request.setArtifact(new DefaultArtifact("org.example", "example", "jar", version));
+         request.addRepository(remote);
+         result.add(request);
+      }
+      return result;
+   }
+
+   private static void write(final File file, final String contents) throws IOException
+   {
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+}
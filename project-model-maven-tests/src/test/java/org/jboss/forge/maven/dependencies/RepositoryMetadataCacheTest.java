@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyMetadata;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
+import org.jboss.forge.project.facets.DependencyFacet.KnownRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RepositoryMetadataCacheTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File file;
+   private final Dependency query = DependencyBuilder.create("org.example:example:[,)");
+   private final List<DependencyRepository> repositories = Arrays
+            .<DependencyRepository> asList(new DependencyRepositoryImpl(KnownRepository.CENTRAL));
+
+   @Before
+   public void setUp() throws Exception
+   {
+      file = new File(folder.getRoot(), "repository-metadata.ser");
+   }
+
+   @Test
+   public void testVersionsArePersisted() throws Exception
+   {
+      List<Dependency> versions = new ArrayList<Dependency>();
+      versions.add(DependencyBuilder.create(query).setVersion("1.0"));
+      versions.add(DependencyBuilder.create(query).setVersion("2.0"));
+      RepositoryMetadataCache cache = new RepositoryMetadataCache(file);
+      cache.putVersions(query, repositories, versions);
+      assertFalse(file.exists());
+      cache.flush();
+
+      List<Dependency> cached = new RepositoryMetadataCache(file).getVersions(query, repositories);
+      assertEquals(2, cached.size());
+      assertEquals("1.0", cached.get(0).getVersion());
+      assertEquals("2.0", cached.get(1).getVersion());
+      assertEquals("example", cached.get(1).getArtifactId());
+
+      assertNull(new RepositoryMetadataCache(file).getVersions(query, new ArrayList<DependencyRepository>()));
+   }
+
+   @Test
+   public void testMetadataIsPersisted() throws Exception
+   {
+      Dependency managed = DependencyBuilder.create("org.example:managed:1.1");
+      DependencyMetadata metadata = new DependencyMetadataImpl(DependencyBuilder.create("org.example:example:1.0"),
+               repositories, Arrays.asList(managed), new ArrayList<Dependency>());
+      RepositoryMetadataCache cache = new RepositoryMetadataCache(file);
+      cache.putMetadata(query, repositories, metadata);
+      cache.flush();
+
+      DependencyMetadata cached = new RepositoryMetadataCache(file).getMetadata(query, repositories);
+      assertEquals("1.0", cached.getDependency().getVersion());
+      assertEquals(KnownRepository.CENTRAL.getUrl(), cached.getRepositories().get(0).getUrl());
+      assertEquals("managed", cached.getManagedDependencies().get(0).getArtifactId());
+      assertEquals("1.1", cached.getManagedDependencies().get(0).getVersion());
+      assertEquals(0, cached.getDependencies().size());
+   }
+
+   @Test
+   public void testExpiredAndClearedEntriesAreNotServed() throws Exception
+   {
+      RepositoryMetadataCache cache = new RepositoryMetadataCache(file);
+      cache.putVersions(query, repositories, Arrays.asList(DependencyBuilder.create(query).setVersion("1.0")));
+
+      cache.setTimeToLive(-1);
+      assertNull(cache.getVersions(query, repositories));
+
+      cache.setTimeToLive(RepositoryMetadataCache.DEFAULT_TTL);
+      cache.clear();
+      assertNull(cache.getVersions(query, repositories));
+      assertFalse(file.exists());
+   }
+
+   @Test
+   public void testExpiredEntriesAreDroppedOnLoadAndSave() throws Exception
+   {
+      Dependency other = DependencyBuilder.create("org.example:other:[,)");
+      RepositoryMetadataCache cache = new RepositoryMetadataCache(file);
+      cache.putVersions(query, repositories, Arrays.asList(DependencyBuilder.create(query).setVersion("1.0")));
+      cache.flush();
+
+      cache = new RepositoryMetadataCache(file);
+      cache.setTimeToLive(-1);
+      assertEquals(0, cache.size());
+      cache.setTimeToLive(RepositoryMetadataCache.DEFAULT_TTL);
+      cache.putVersions(other, repositories, Arrays.asList(DependencyBuilder.create(other).setVersion("1.0")));
+      cache.flush();
+
+      cache = new RepositoryMetadataCache(file);
+      assertEquals(1, cache.size());
+      assertNull(cache.getVersions(query, repositories));
+      assertEquals(1, cache.getVersions(other, repositories).size());
+   }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.repository.internal.MavenRepositorySystemSession;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.jboss.forge.maven.RepositoryUtils;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
+
+public class CachingModelBuilderTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+   private File repository;
+   private DefaultPlexusContainer container;
+   private MavenContainer maven;
+   private SharedModelCache cache;
+   private ProjectBuilder builder;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+      repository = new File(root, "repository");
+      repository.mkdirs();
+
+      container = new DefaultPlexusContainer();
+      maven = new MavenContainer();
+      cache = maven.getModelCache();
+      ModelBuilder modelBuilder = container.lookup(ModelBuilder.class);
+      container.addComponent(new CachingModelBuilder(modelBuilder, cache), ModelBuilder.class, "default");
+      builder = container.lookup(ProjectBuilder.class);
+   }
+
+   @After
+   public void tearDown()
+   {
+      container.dispose();
+   }
+
+   @Test
+   public void testReleasedParentIsReadOnceUntilInvalidated() throws Exception
+   {
+      installParent("1.0", "one");
+      File pom = writeProject("1.0");
+
+      assertEquals("one", getGreeting(pom));
+      assertEquals(1, cache.size());
+
+      installParent("1.0", "two");
+      assertEquals("one", getGreeting(pom));
+
+      cache.invalidate("org.example", "parent", "1.0");
+      assertEquals("two", getGreeting(pom));
+   }
+
+   @Test
+   public void testSnapshotParentIsNotCached() throws Exception
+   {
+      installParent("1.1-SNAPSHOT", "one");
+      File pom = writeProject("1.1-SNAPSHOT");
+
+      assertEquals("one", getGreeting(pom));
+      assertEquals(0, cache.size());
+
+      installParent("1.1-SNAPSHOT", "two");
+      assertEquals("two", getGreeting(pom));
+   }
+
+   @Test
+   public void testEditingChildKeepsParentCached() throws Exception
+   {
+      installParent("1.0", "one");
+      File pom = writeProject("1.0");
+      assertEquals("one", getGreeting(pom));
+
+      installParent("1.0", "two");
+      maven.resourceChanged(new ResourceModified(new UnknownFileResource(null, pom)));
+      assertEquals(1, cache.size());
+      assertEquals("one", getGreeting(pom));
+   }
+
+   @Test
+   public void testEditingCachedPomDropsOnlyItsEntry() throws Exception
+   {
+      installParent("1.0", "one");
+      File pom = writeProject("1.0");
+      assertEquals("one", getGreeting(pom));
+
+      File directory = new File(root, "parent");
+      directory.mkdirs();
+      File parent = new File(directory, "pom.xml");
+      write(parent, "<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId>"
+               + "<artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging></project>");
+      maven.resourceChanged(new ResourceModified(new UnknownFileResource(null, parent)));
+      assertEquals(0, cache.size());
+   }
+
+   private String getGreeting(final File pom) throws Exception
+   {
+      return builder.build(pom, createRequest()).getProject().getProperties().getProperty("greeting");
+   }
+
+   private ProjectBuildingRequest createRequest() throws Exception
+   {
+      MavenRepositorySystemSession session = new MavenRepositorySystemSession();
+      session.setLocalRepositoryManager(new SimpleLocalRepositoryManager(repository));
+      session.setOffline(true);
+
+      ProjectBuildingRequest request = new DefaultProjectBuildingRequest();
+      request.setLocalRepository(RepositoryUtils.toArtifactRepository("local", repository.toURI().toURL().toString(),
+               null, true, true));
+      request.setRepositorySession(session);
+      request.setSystemProperties(System.getProperties());
+      request.setProcessPlugins(false);
+      request.setResolveDependencies(false);
+      return request;
+   }
+
+   private void installParent(final String version, final String greeting) throws IOException
+   {
+      File directory = new File(repository, "org/example/parent/" + version);
+      directory.mkdirs();
+      write(new File(directory, "parent-" + version + ".pom"), "<project><modelVersion>4.0.0</modelVersion>"
+               + "<groupId>org.example</groupId><artifactId>parent</artifactId><version>" + version + "</version>"
+               + "<packaging>pom</packaging><properties><greeting>" + greeting + "</greeting></properties></project>");
+   }
+
+   private File writeProject(final String parentVersion) throws IOException
+   {
+      File directory = new File(root, "project");
+      directory.mkdirs();
+      File pom = new File(directory, "pom.xml");
+      write(pom, "<project><modelVersion>4.0.0</modelVersion><parent><groupId>org.example</groupId>"
+               + "<artifactId>parent</artifactId><version>" + parentVersion + "</version></parent>"
+               + "<artifactId>child</artifactId></project>");
+      return pom;
+   }
+
+   private static void write(final File file, final String contents) throws IOException
+   {
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class SharedModelCacheTest
+{
+   @Test
+   public void testInvalidateDropsAllTagsOfCoordinate() throws Exception
+   {
+      SharedModelCache cache = new SharedModelCache();
+      Object raw = new Object();
+      Object imported = new Object();
+      Object other = new Object();
+      cache.put("org.example", "parent", "1.0", "raw", raw);
+      cache.put("org.example", "parent", "1.0", "import", imported);
+      cache.put("org.example", "bom", "1.0", "import", other);
+
+      assertSame(raw, cache.get("org.example", "parent", "1.0", "raw"));
+      assertSame(imported, cache.get("org.example", "parent", "1.0", "import"));
+      assertNull(cache.get("org.example", "parent", "2.0", "raw"));
+      assertEquals(2, cache.size());
+
+      cache.invalidate("org.example", "parent", "1.0");
+      assertNull(cache.get("org.example", "parent", "1.0", "raw"));
+      assertNull(cache.get("org.example", "parent", "1.0", "import"));
+      assertSame(other, cache.get("org.example", "bom", "1.0", "import"));
+   }
+
+   @Test
+   public void testLeastRecentlyUsedCoordinatesAreDropped() throws Exception
+   {
+      SharedModelCache cache = new SharedModelCache(2);
+      Object data = new Object();
+      cache.put("org.example", "first", "1.0", "raw", data);
+      cache.put("org.example", "second", "1.0", "raw", data);
+      cache.get("org.example", "first", "1.0", "raw");
+      cache.put("org.example", "third", "1.0", "raw", data);
+
+      assertEquals(2, cache.size());
+      assertSame(data, cache.get("org.example", "first", "1.0", "raw"));
+      assertNull(cache.get("org.example", "second", "1.0", "raw"));
+   }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.io.File;
+
+/**
+ * Locates artifacts installed in a local Maven repository by their coordinates. Each lookup is a single check for the
+ * file at the artifact's standard path, so that artifacts installed or removed by other processes are seen at once.
+ */
+public class LocalRepositoryLayout
+{
+   private final File root;
+
+   public LocalRepositoryLayout(final File root)
+   {
+      this.root = root;
+   }
+
+   public File getRoot()
+   {
+      return root;
+   }
+
+   /**
+    * Return the file of the given artifact in the local repository, or null if it is not installed.
+    */
+   public File getArtifact(final String groupId, final String artifactId, final String version,
+            final String classifier, final String extension)
+   {
+      StringBuilder name = new StringBuilder(artifactId).append('-').append(version);
+      if ((classifier != null) && (classifier.length() > 0))
+      {
+         name.append('-').append(classifier);
+      }
+      name.append('.').append(extension == null ? "jar" : extension);
+
+      File directory = new File(new File(root, groupId.replace('.', File.separatorChar)), artifactId);
+      File result = new File(new File(directory, version), name.toString());
+      return result.isFile() ? result : null;
+   }
+}
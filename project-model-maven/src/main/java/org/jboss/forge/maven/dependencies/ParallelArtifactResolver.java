@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.RepositorySystemSession;
+import org.sonatype.aether.repository.RemoteRepository;
+import org.sonatype.aether.resolution.ArtifactRequest;
+import org.sonatype.aether.resolution.ArtifactResolutionException;
+import org.sonatype.aether.resolution.ArtifactResult;
+
+/**
+ * Resolves a list of {@link ArtifactRequest} instances concurrently, on a bounded pool shared by all lookups. The
+ * number of requests in flight against any single repository is limited, so that a lookup over many versions does not
+ * flood one server.
+ */
+public class ParallelArtifactResolver
+{
+   public static final int MAX_THREADS = 8;
+   public static final int MAX_PER_REPOSITORY = 4;
+
+   private static final Logger log = Logger.getLogger(ParallelArtifactResolver.class.getName());
+
+   private static final ExecutorService executor = createExecutor(MAX_THREADS);
+   private static final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<String, Semaphore>();
+
+   private final RepositorySystem system;
+   private final RepositorySystemSession session;
+
+   public ParallelArtifactResolver(final RepositorySystem system, final RepositorySystemSession session)
+   {
+      this.system = system;
+      this.session = session;
+   }
+
+   /**
+    * Resolve the given requests, returning one {@link ArtifactResult} per request in request order; an entry is null
+    * if that artifact could not be resolved.
+    */
+   public List<ArtifactResult> resolve(final List<ArtifactRequest> requests)
+   {
+      List<Future<ArtifactResult>> futures = new ArrayList<Future<ArtifactResult>>(requests.size());
+      for (final ArtifactRequest request : requests)
+      {
+         futures.add(executor.submit(new Callable<ArtifactResult>()
+         {
+            @Override
+            public ArtifactResult call() throws Exception
+            {
+               return resolve(request);
+            }
+         }));
+      }
+
+      List<ArtifactResult> results = new ArrayList<ArtifactResult>(requests.size());
+      try
+      {
+         for (Future<ArtifactResult> future : futures)
+         {
+            results.add(get(future));
+         }
+      }
+      catch (InterruptedException e)
+      {
+         for (Future<ArtifactResult> future : futures)
+         {
+            future.cancel(true);
+         }
+         Thread.currentThread().interrupt();
+         while (results.size() < requests.size())
+         {
+            results.add(null);
+         }
+      }
+      return results;
+   }
+
+   private ArtifactResult get(final Future<ArtifactResult> future) throws InterruptedException
+   {
+      try
+      {
+         return future.get();
+      }
+      catch (ExecutionException e)
+      {
+         log.log(Level.FINE, "Could not resolve artifact", e.getCause());
+         return null;
+      }
+   }
+
+   private ArtifactResult resolve(final ArtifactRequest request) throws InterruptedException
+   {
+      Semaphore semaphore = getPermits(request.getRepositories());
+      semaphore.acquire();
+      try
+      {
+         return system.resolveArtifact(session, request);
+      }
+      catch (ArtifactResolutionException e)
+      {
+         log.fine(e.getMessage());
+         return null;
+      }
+      finally
+      {
+         semaphore.release();
+      }
+   }
+
+   private static Semaphore getPermits(final List<RemoteRepository> repositories)
+   {
+      String key = repositories.isEmpty() ? "" : repositories.get(0).getUrl();
+      Semaphore result = permits.get(key);
+      if (result == null)
+      {
+         result = new Semaphore(MAX_PER_REPOSITORY);
+         Semaphore existing = permits.putIfAbsent(key, result);
+         if (existing != null)
+         {
+            result = existing;
+         }
+      }
+      return result;
+   }
+
+   private static ExecutorService createExecutor(final int threads)
+   {
+      ThreadPoolExecutor result = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+               new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+               {
+                  private final AtomicInteger count = new AtomicInteger();
+
+                  @Override
+                  public Thread newThread(final Runnable runnable)
+                  {
+                     Thread thread = new Thread(runnable, "ArtifactResolver-" + count.incrementAndGet());
+                     thread.setDaemon(true);
+                     return thread;
+                  }
+               });
+      result.allowCoreThreadTimeOut(true);
+      return result;
+   }
+}
@@ -31,9 +31,6 @@ import org.jboss.forge.project.dependencies.DependencyResolverProvider;
 import org.jboss.forge.project.facets.DependencyFacet.KnownRepository;
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DependencyResource;
-import org.jboss.forge.resources.DirectoryResource;
-import org.jboss.forge.resources.FileResource;
-import org.jboss.forge.resources.Resource;
 import org.sonatype.aether.RepositorySystem;
 import org.sonatype.aether.artifact.Artifact;
 import org.sonatype.aether.collection.CollectRequest;
@@ -46,12 +43,12 @@ import org.sonatype.aether.repository.RepositoryPolicy;
 import org.sonatype.aether.resolution.ArtifactDescriptorRequest;
 import org.sonatype.aether.resolution.ArtifactDescriptorResult;
 import org.sonatype.aether.resolution.ArtifactRequest;
-import org.sonatype.aether.resolution.ArtifactResolutionException;
 import org.sonatype.aether.resolution.ArtifactResult;
 import org.sonatype.aether.resolution.DependencyRequest;
 import org.sonatype.aether.resolution.DependencyResult;
 import org.sonatype.aether.resolution.VersionRangeRequest;
 import org.sonatype.aether.resolution.VersionRangeResult;
+import org.sonatype.aether.util.DefaultRepositorySystemSession;
 import org.sonatype.aether.util.artifact.DefaultArtifact;
 import org.sonatype.aether.version.Version;
 
@@ -64,6 +61,7 @@ public class RepositoryLookup implements DependencyResolverProvider
    private MavenContainer container;
    private ResourceFactory factory;
    private ForgeEnvironment environment;
+   private RepositoryMetadataCache metadataCache;
 
    public RepositoryLookup()
    {
@@ -71,11 +69,12 @@ public class RepositoryLookup implements DependencyResolverProvider
 
    @Inject
    public RepositoryLookup(final MavenContainer container, final ResourceFactory factory,
-            final ForgeEnvironment environment)
+            final ForgeEnvironment environment, final RepositoryMetadataCache metadataCache)
    {
       this.container = container;
       this.factory = factory;
       this.environment = environment;
+      this.metadataCache = metadataCache;
    }
 
    @Override
@@ -103,48 +102,35 @@ public class RepositoryLookup implements DependencyResolverProvider
        */
       if (dep.getVersion() != null)
       {
-         DirectoryResource dir = (DirectoryResource) factory.getResourceFrom(new File(container.getSettings()
-                  .getLocalRepository()));
-         if ((dir != null) && dir.exists())
+         File artifact = container.getLocalRepositoryLayout().getArtifact(dep.getGroupId(), dep.getArtifactId(),
+                  dep.getVersion(), null, dep.getPackagingType());
+         if (artifact != null)
          {
-            List<String> segments = new ArrayList<String>();
-            segments.addAll(Arrays.asList((dep.getGroupId() + "." + dep.getArtifactId()).split("\\.")));
-            segments.add(dep.getVersion());
-
-            for (String seg : segments)
-            {
-               dir = dir.getChildDirectory(seg);
-               if (!dir.isDirectory())
-               {
-                  break;
-               }
-            }
-
-            if (dir.isDirectory())
-            {
-               Resource<?> jar = dir.getChild(dep.getArtifactId() + "-" + dep.getVersion() + "."
-                        + dep.getPackagingType());
-               if (jar.exists())
-               {
-                  FileResource<?> jarFile = jar.reify(FileResource.class);
-                  result.add(new DependencyResource(jarFile.getResourceFactory(), jarFile
-                           .getUnderlyingResourceObject(), dep));
-               }
-            }
+            result.add(new DependencyResource(factory, artifact, dep));
          }
       }
 
       if (result.isEmpty())
       {
-         MavenRepositorySystemSession session = setupRepoSession(system);
-
+         DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(setupRepoSession());
          session.setIgnoreInvalidArtifactDescriptor(true);
          session.setIgnoreMissingArtifactDescriptor(true);
 
          VersionRangeResult versions = getVersions(dep, convertToMavenRepos(repositories));
 
-         VERSION: for (Version version : versions.getVersions())
+         /*
+          * Artifacts in the local repository are looked up directly; remote artifacts are downloaded concurrently, and
+          * slotted back into version order afterwards.
+          */
+         List<Version> ordered = versions.getVersions();
+         DependencyResource[] slots = new DependencyResource[ordered.size()];
+         List<ArtifactRequest> requests = new ArrayList<ArtifactRequest>();
+         List<Integer> requestSlots = new ArrayList<Integer>();
+         List<Dependency> requestVersions = new ArrayList<Dependency>();
+
+         for (int i = 0; i < ordered.size(); i++)
          {
+            Version version = ordered.get(i);
             ArtifactRepository ar = versions.getRepository(version);
             DependencyBuilder currentVersion = DependencyBuilder.create(dep).setVersion(version.toString());
             Artifact artifact = dependencyToMavenArtifact(currentVersion);
@@ -153,16 +139,9 @@ public class RepositoryLookup implements DependencyResolverProvider
             {
                LocalArtifactRequest request = new LocalArtifactRequest(artifact, null, null);
                LocalArtifactResult a = session.getLocalRepositoryManager().find(session, request);
-
-               File file = a.getFile();
-               DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-               if (!result.contains(resource))
-               {
-                  result.add(resource);
-                  continue VERSION;
-               }
+               slots[i] = new DependencyResource(factory, a.getFile(), currentVersion);
             }
-            if (ar instanceof RemoteRepository)
+            else if (ar instanceof RemoteRepository)
             {
                ArtifactRequest request = new ArtifactRequest();
                RemoteRepository remoteRepo = new RemoteRepository(ar.getId(), ar.getContentType(),
@@ -170,24 +149,33 @@ public class RepositoryLookup implements DependencyResolverProvider
                request.addRepository(remoteRepo);
                request.setArtifact(artifact);
 
-               try
-               {
-                  ArtifactResult a = system.resolveArtifact(session, request);
+               requests.add(request);
+               requestSlots.add(i);
+               requestVersions.add(currentVersion);
+            }
+         }
 
-                  File file = a.getArtifact().getFile();
-                  DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-                  if (!result.contains(resource))
-                  {
-                     result.add(resource);
-                     continue VERSION;
-                  }
-               }
-               catch (ArtifactResolutionException e)
+         if (!requests.isEmpty())
+         {
+            List<ArtifactResult> resolved = new ParallelArtifactResolver(system, session).resolve(requests);
+            for (int i = 0; i < resolved.size(); i++)
+            {
+               ArtifactResult a = resolved.get(i);
+               if (a != null)
                {
-                  System.out.println(e.getMessage());
+                  File file = a.getArtifact().getFile();
+                  slots[requestSlots.get(i)] = new DependencyResource(factory, file, requestVersions.get(i));
                }
             }
          }
+
+         for (DependencyResource resource : slots)
+         {
+            if ((resource != null) && !result.contains(resource))
+            {
+               result.add(resource);
+            }
+         }
       }
       return result;
    }
@@ -217,7 +205,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         MavenRepositorySystemSession session = setupRepoSession();
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          CollectRequest collectRequest = new CollectRequest(new org.sonatype.aether.graph.Dependency(artifact, null),
@@ -265,8 +253,14 @@ public class RepositoryLookup implements DependencyResolverProvider
             query = DependencyBuilder.create(query).setVersion("[,)");
          }
 
+         DependencyMetadata cached = metadataCache.getMetadata(query, repositories);
+         if (cached != null)
+         {
+            return cached;
+         }
+
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         MavenRepositorySystemSession session = setupRepoSession();
 
          Artifact artifact = dependencyToMavenArtifact(query);
 
@@ -277,7 +271,9 @@ public class RepositoryLookup implements DependencyResolverProvider
          Dependency d = DependencyBuilder.create().setArtifactId(a.getArtifactId()).setGroupId(a.getGroupId())
                   .setVersion(a.getVersion());
 
-         return new DependencyMetadataImpl(d, results);
+         DependencyMetadata result = new DependencyMetadataImpl(d, results);
+         metadataCache.putMetadata(query, repositories, result);
+         return result;
       }
       catch (Exception e)
       {
@@ -300,6 +296,12 @@ public class RepositoryLookup implements DependencyResolverProvider
    @Override
    public List<Dependency> resolveVersions(final Dependency dep, final List<DependencyRepository> repositories)
    {
+      List<Dependency> cached = metadataCache.getVersions(dep, repositories);
+      if (cached != null)
+      {
+         return cached;
+      }
+
       List<Dependency> result = new ArrayList<Dependency>();
 
       List<RemoteRepository> remoteRepos = convertToMavenRepos(repositories);
@@ -310,21 +312,16 @@ public class RepositoryLookup implements DependencyResolverProvider
          result.add(DependencyBuilder.create(dep).setVersion(v.toString()));
       }
 
+      if (!result.isEmpty())
+      {
+         metadataCache.putVersions(dep, repositories, result);
+      }
       return result;
    }
 
-   private MavenRepositorySystemSession setupRepoSession(final RepositorySystem repoSystem)
+   private MavenRepositorySystemSession setupRepoSession()
    {
-      MavenRepositorySystemSession session = new MavenRepositorySystemSession();
-      session.setOffline(!environment.isOnline());
-      Settings settings = container.getSettings();
-
-      LocalRepository localRepo = new LocalRepository(new File(settings.getLocalRepository()), "");
-      session.setLocalRepositoryManager(repoSystem.newLocalRepositoryManager(localRepo));
-      session.setTransferErrorCachingEnabled(false);
-      session.setNotFoundCachingEnabled(false);
-
-      return session;
+      return container.getRepositorySession(!environment.isOnline());
    }
 
    private RemoteRepository convertToMavenRepo(final DependencyRepository repo)
@@ -379,7 +376,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem maven = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(maven);
+         MavenRepositorySystemSession session = setupRepoSession();
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, repositories, null);
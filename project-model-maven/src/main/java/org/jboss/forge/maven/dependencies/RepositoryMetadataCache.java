@@ -0,0 +1,378 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyMetadata;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
+import org.jboss.forge.shell.events.CommandExecuted;
+import org.jboss.forge.shell.events.PreShutdown;
+
+/**
+ * Persistent cache of resolved versions and {@link DependencyMetadata}, stored in the Forge configuration directory.
+ * Entries are served while younger than the time-to-live; when Forge is offline they are served regardless of age.
+ * <p>
+ * New entries are written to disk by {@link #flush()}, which is called once each command has executed, and on
+ * shutdown. Expired entries are dropped when the cache is loaded and saved, unless Forge is offline.
+ */
+@ApplicationScoped
+public class RepositoryMetadataCache
+{
+   public static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(24);
+
+   private static final String CACHE_FILE = "cache/repository-metadata.ser";
+   private static final Logger log = Logger.getLogger(RepositoryMetadataCache.class.getName());
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   private long timeToLive = DEFAULT_TTL;
+   private File file;
+   private Map<String, Entry> entries;
+   private boolean dirty;
+
+   public RepositoryMetadataCache()
+   {
+   }
+
+   public RepositoryMetadataCache(final File file)
+   {
+      this.file = file;
+   }
+
+   /**
+    * Return the cached versions for the given query and repositories, or null if there is no usable entry.
+    */
+   public synchronized List<Dependency> getVersions(final Dependency query,
+            final List<DependencyRepository> repositories)
+   {
+      Entry entry = get("versions|" + keyFor(query, repositories));
+      if (entry == null)
+      {
+         return null;
+      }
+
+      List<Dependency> result = new ArrayList<Dependency>();
+      for (String version : entry.values.get(0))
+      {
+         result.add(DependencyBuilder.create(query).setVersion(version));
+      }
+      return result;
+   }
+
+   public synchronized void putVersions(final Dependency query, final List<DependencyRepository> repositories,
+            final List<Dependency> versions)
+   {
+      ArrayList<String> values = new ArrayList<String>();
+      for (Dependency version : versions)
+      {
+         values.add(version.getVersion());
+      }
+
+      ArrayList<ArrayList<String>> entry = new ArrayList<ArrayList<String>>();
+      entry.add(values);
+      put("versions|" + keyFor(query, repositories), entry);
+   }
+
+   /**
+    * Return the cached {@link DependencyMetadata} for the given query and repositories, or null if there is no usable
+    * entry.
+    */
+   public synchronized DependencyMetadata getMetadata(final Dependency query,
+            final List<DependencyRepository> repositories)
+   {
+      Entry entry = get("metadata|" + keyFor(query, repositories));
+      if (entry == null)
+      {
+         return null;
+      }
+
+      List<DependencyRepository> repos = new ArrayList<DependencyRepository>();
+      for (String repo : entry.values.get(1))
+      {
+         int separator = repo.indexOf('|');
+         repos.add(new DependencyRepositoryImpl(repo.substring(0, separator), repo.substring(separator + 1)));
+      }
+      Dependency dependency = DependencyBuilder.create(entry.values.get(0).get(0));
+      return new DependencyMetadataImpl(dependency, repos, toDependencies(entry.values.get(2)),
+               toDependencies(entry.values.get(3)));
+   }
+
+   public synchronized void putMetadata(final Dependency query, final List<DependencyRepository> repositories,
+            final DependencyMetadata metadata)
+   {
+      ArrayList<String> dependency = new ArrayList<String>();
+      dependency.add(toCoordinates(metadata.getDependency()));
+
+      ArrayList<String> repos = new ArrayList<String>();
+      for (DependencyRepository repo : metadata.getRepositories())
+      {
+         repos.add(repo.getId() + "|" + repo.getUrl());
+      }
+
+      ArrayList<ArrayList<String>> entry = new ArrayList<ArrayList<String>>();
+      entry.add(dependency);
+      entry.add(repos);
+      entry.add(toCoordinates(metadata.getManagedDependencies()));
+      entry.add(toCoordinates(metadata.getDependencies()));
+      put("metadata|" + keyFor(query, repositories), entry);
+   }
+
+   /**
+    * Drop all entries, in memory and on disk.
+    */
+   public synchronized void clear()
+   {
+      entries = new HashMap<String, Entry>();
+      dirty = false;
+      File cacheFile = getFile();
+      if ((cacheFile != null) && cacheFile.exists() && !cacheFile.delete())
+      {
+         log.warning("Could not delete repository metadata cache: " + cacheFile);
+      }
+   }
+
+   /**
+    * Write any entries added since the cache was last loaded or saved.
+    */
+   public synchronized void flush()
+   {
+      if (dirty)
+      {
+         purge();
+         save();
+         dirty = false;
+      }
+   }
+
+   void flush(@Observes final CommandExecuted event)
+   {
+      flush();
+   }
+
+   void flush(@Observes final PreShutdown event)
+   {
+      flush();
+   }
+
+   @PreDestroy
+   void close()
+   {
+      flush();
+   }
+
+   public synchronized int size()
+   {
+      return getEntries().size();
+   }
+
+   public long getTimeToLive()
+   {
+      return timeToLive;
+   }
+
+   public void setTimeToLive(final long timeToLive)
+   {
+      this.timeToLive = timeToLive;
+   }
+
+   private Entry get(final String key)
+   {
+      Entry entry = getEntries().get(key);
+      if ((entry != null) && (isOffline() || !isExpired(entry)))
+      {
+         return entry;
+      }
+      return null;
+   }
+
+   private void put(final String key, final ArrayList<ArrayList<String>> values)
+   {
+      getEntries().put(key, new Entry(System.currentTimeMillis(), values));
+      dirty = true;
+   }
+
+   private boolean isExpired(final Entry entry)
+   {
+      return System.currentTimeMillis() - entry.created >= timeToLive;
+   }
+
+   /*
+    * Expired entries are kept while offline, as they are still served then
+    */
+   private void purge()
+   {
+      if (isOffline())
+      {
+         return;
+      }
+      for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();)
+      {
+         if (isExpired(iterator.next()))
+         {
+            iterator.remove();
+            dirty = true;
+         }
+      }
+   }
+
+   private boolean isOffline()
+   {
+      return (environment != null) && !environment.isOnline();
+   }
+
+   private File getFile()
+   {
+      if ((file == null) && (environment != null))
+      {
+         file = new File(environment.getConfigDirectory().getUnderlyingResourceObject(), CACHE_FILE);
+      }
+      return file;
+   }
+
+   @SuppressWarnings("unchecked")
+   private Map<String, Entry> getEntries()
+   {
+      if (entries == null)
+      {
+         entries = new HashMap<String, Entry>();
+         File cacheFile = getFile();
+         if ((cacheFile != null) && cacheFile.isFile())
+         {
+            try
+            {
+               ObjectInputStream in = new ObjectInputStream(new FileInputStream(cacheFile));
+               try
+               {
+                  entries.putAll((Map<String, Entry>) in.readObject());
+               }
+               finally
+               {
+                  in.close();
+               }
+            }
+            catch (Exception e)
+            {
+               log.log(Level.FINE, "Discarding unreadable repository metadata cache: " + cacheFile, e);
+            }
+            purge();
+         }
+      }
+      return entries;
+   }
+
+   private void save()
+   {
+      File cacheFile = getFile();
+      if (cacheFile == null)
+      {
+         return;
+      }
+
+      try
+      {
+         cacheFile.getParentFile().mkdirs();
+         File temp = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+         ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp));
+         try
+         {
+            out.writeObject(new HashMap<String, Entry>(entries));
+         }
+         finally
+         {
+            out.close();
+         }
+         if (!temp.renameTo(cacheFile))
+         {
+            cacheFile.delete();
+            temp.renameTo(cacheFile);
+         }
+      }
+      catch (IOException e)
+      {
+         log.log(Level.WARNING, "Could not write repository metadata cache: " + cacheFile, e);
+      }
+   }
+
+   private static String keyFor(final Dependency query, final List<DependencyRepository> repositories)
+   {
+      StringBuilder result = new StringBuilder(DependencyBuilder.toId(query));
+      for (DependencyRepository repository : repositories)
+      {
+         result.append('|').append(repository.getUrl());
+      }
+      return result.toString();
+   }
+
+   private static String toCoordinates(final Dependency dependency)
+   {
+      String result = dependency.getGroupId() + ":" + dependency.getArtifactId();
+      if (dependency.getVersion() != null)
+      {
+         result += ":" + dependency.getVersion();
+      }
+      return result;
+   }
+
+   private static ArrayList<String> toCoordinates(final List<Dependency> dependencies)
+   {
+      ArrayList<String> result = new ArrayList<String>();
+      for (Dependency dependency : dependencies)
+      {
+         result.add(toCoordinates(dependency));
+      }
+      return result;
+   }
+
+   private static List<Dependency> toDependencies(final List<String> coordinates)
+   {
+      List<Dependency> result = new ArrayList<Dependency>();
+      for (String coordinate : coordinates)
+      {
+         result.add(DependencyBuilder.create(coordinate));
+      }
+      return result;
+   }
+
+   private static class Entry implements Serializable
+   {
+      private static final long serialVersionUID = 2960143297484529185L;
+
+      private final long created;
+      private final ArrayList<ArrayList<String>> values;
+
+      Entry(final long created, final ArrayList<ArrayList<String>> values)
+      {
+         this.created = created;
+         this.values = values;
+      }
+   }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.maven.facets;
+
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingResult;
+import org.apache.maven.model.building.ModelCache;
+
+/**
+ * Decorates the default {@link ModelBuilder} so that requests built without a {@link ModelCache}, as the
+ * {@link org.apache.maven.project.ProjectBuilder} does for single projects, use the given shared cache. Parents and
+ * imported BOMs are then only resolved and read once, instead of on every rebuild of a project.
+ */
+class CachingModelBuilder implements ModelBuilder
+{
+   private final ModelBuilder delegate;
+   private final ModelCache cache;
+
+   public CachingModelBuilder(final ModelBuilder delegate, final ModelCache cache)
+   {
+      this.delegate = delegate;
+      this.cache = cache;
+   }
+
+   @Override
+   public ModelBuildingResult build(final ModelBuildingRequest request) throws ModelBuildingException
+   {
+      return delegate.build(withCache(request));
+   }
+
+   @Override
+   public ModelBuildingResult build(final ModelBuildingRequest request, final ModelBuildingResult result)
+            throws ModelBuildingException
+   {
+      return delegate.build(withCache(request), result);
+   }
+
+   private ModelBuildingRequest withCache(final ModelBuildingRequest request)
+   {
+      if (request.getModelCache() == null)
+      {
+         request.setModelCache(cache);
+      }
+      return request;
+   }
+}
@@ -8,17 +8,23 @@
 package org.jboss.forge.maven.facets;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.DefaultMavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequestPopulator;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.repository.internal.MavenRepositorySystemSession;
@@ -37,10 +43,16 @@ import org.codehaus.plexus.component.repository.exception.ComponentLookupExcepti
 import org.codehaus.plexus.logging.console.ConsoleLoggerManager;
 import org.jboss.forge.ForgeEnvironment;
 import org.jboss.forge.maven.RepositoryUtils;
+import org.jboss.forge.maven.dependencies.LocalRepositoryLayout;
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.project.facets.DependencyFacet.KnownRepository;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
 import org.jboss.forge.shell.util.OSUtils;
+import org.sonatype.aether.RepositorySystem;
 import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
+import org.sonatype.aether.repository.LocalRepository;
 import org.sonatype.aether.util.repository.DefaultProxySelector;
 
 /**
@@ -51,9 +63,21 @@ public class MavenContainer
 {
    private static final String M2_HOME = System.getenv().get("M2_HOME");
 
-   private ProjectBuildingRequest request;
    private DefaultPlexusContainer container = null;
    private ProjectBuilder builder = null;
+   private final SharedModelCache modelCache = new SharedModelCache();
+   private LocalRepositoryLayout localRepositoryLayout;
+
+   /*
+    * Effective settings, valid while the last-modified times of both settings files are unchanged. Requests and
+    * sessions derived from them are kept per offline mode, and discarded whenever the settings are rebuilt.
+    */
+   private Settings settings;
+   private long userSettingsModified;
+   private long globalSettingsModified;
+   private final Map<Boolean, ProjectBuildingRequest> requests = new HashMap<Boolean, ProjectBuildingRequest>();
+   private final Map<Boolean, MavenRepositorySystemSession> sessions =
+            new HashMap<Boolean, MavenRepositorySystemSession>();
 
    @Inject
    private ForgeEnvironment environment;
@@ -68,18 +92,37 @@ public class MavenContainer
       return getBuildingRequest(true);
    }
 
-   public ProjectBuildingRequest getBuildingRequest(final boolean offline)
+   /**
+    * Return a new {@link ProjectBuildingRequest}, copied from a template that is built once per offline mode and
+    * reused for as long as the Maven settings are unchanged.
+    */
+   public synchronized ProjectBuildingRequest getBuildingRequest(final boolean offline)
+   {
+      Settings settings = getSettings();
+      ProjectBuildingRequest template = requests.get(offline);
+      if (template == null)
+      {
+         template = createBuildingRequest(settings, offline);
+         requests.put(offline, template);
+      }
+
+      ProjectBuildingRequest request = new DefaultProjectBuildingRequest(template);
+      request.setProcessPlugins(false);
+      request.setResolveDependencies(false);
+      return request;
+   }
+
+   private ProjectBuildingRequest createBuildingRequest(final Settings settings, final boolean offline)
    {
       ClassLoader cl = Thread.currentThread().getContextClassLoader();
       try
       {
-         Settings settings = getSettings();
          // TODO this needs to be configurable via .forge
          // TODO this reference to the M2_REPO should probably be centralized
 
          MavenExecutionRequest executionRequest = new DefaultMavenExecutionRequest();
-         lookup(MavenExecutionRequestPopulator.class).populateFromSettings(executionRequest, getSettings());
-         request = executionRequest.getProjectBuildingRequest();
+         lookup(MavenExecutionRequestPopulator.class).populateFromSettings(executionRequest, settings);
+         ProjectBuildingRequest request = executionRequest.getProjectBuildingRequest();
 
          ArtifactRepository localRepository = RepositoryUtils.toArtifactRepository("local",
                   new File(settings.getLocalRepository()).toURI().toURL().toString(), null, true, true);
@@ -143,17 +186,68 @@ public class MavenContainer
       }
    }
 
-   public Settings getSettings()
+   /**
+    * Return the {@link MavenRepositorySystemSession} used for dependency resolution in the given offline mode. The
+    * session is shared, and must not be modified; callers needing different options should copy it first.
+    */
+   public synchronized MavenRepositorySystemSession getRepositorySession(final boolean offline)
+   {
+      Settings settings = getSettings();
+      MavenRepositorySystemSession session = sessions.get(offline);
+      if (session == null)
+      {
+         session = new MavenRepositorySystemSession();
+         session.setOffline(offline);
+
+         LocalRepository localRepo = new LocalRepository(new File(settings.getLocalRepository()), "");
+         session.setLocalRepositoryManager(lookup(RepositorySystem.class).newLocalRepositoryManager(localRepo));
+         session.setTransferErrorCachingEnabled(false);
+         session.setNotFoundCachingEnabled(false);
+         sessions.put(offline, session);
+      }
+      return session;
+   }
+
+   /**
+    * Return the effective Maven {@link Settings}. These are only rebuilt when the user or global settings file has
+    * changed, and are shared, so must be treated as read-only.
+    */
+   public synchronized Settings getSettings()
+   {
+      File userSettingsFile = new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml");
+      File globalSettingsFile = M2_HOME == null ? null : new File(M2_HOME + "/conf/settings.xml");
+
+      long userModified = userSettingsFile.lastModified();
+      long globalModified = globalSettingsFile == null ? 0 : globalSettingsFile.lastModified();
+
+      if ((settings == null) || (userModified != userSettingsModified) || (globalModified != globalSettingsModified))
+      {
+         settings = buildSettings(userSettingsFile, globalSettingsFile);
+         userSettingsModified = userModified;
+         globalSettingsModified = globalModified;
+         requests.clear();
+         sessions.clear();
+         modelCache.clear();
+
+         File localRepository = new File(settings.getLocalRepository());
+         if ((localRepositoryLayout == null) || !localRepositoryLayout.getRoot().equals(localRepository))
+         {
+            localRepositoryLayout = new LocalRepositoryLayout(localRepository);
+         }
+      }
+      return settings;
+   }
+
+   private Settings buildSettings(final File userSettingsFile, final File globalSettingsFile)
    {
       try
       {
          SettingsBuilder settingsBuilder = new DefaultSettingsBuilderFactory().newInstance();
          SettingsBuildingRequest settingsRequest = new DefaultSettingsBuildingRequest();
-         settingsRequest
-                  .setUserSettingsFile(new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml"));
+         settingsRequest.setUserSettingsFile(userSettingsFile);
 
-         if (M2_HOME != null)
-            settingsRequest.setGlobalSettingsFile(new File(M2_HOME + "/conf/settings.xml"));
+         if (globalSettingsFile != null)
+            settingsRequest.setGlobalSettingsFile(globalSettingsFile);
 
          SettingsBuildingResult settingsBuildingResult = settingsBuilder.build(settingsRequest);
          Settings effectiveSettings = settingsBuildingResult.getEffectiveSettings();
@@ -171,6 +265,77 @@ public class MavenContainer
       }
    }
 
+   /**
+    * Get the {@link SharedModelCache} of parent and imported POMs used by all model builds.
+    */
+   public SharedModelCache getModelCache()
+   {
+      return modelCache;
+   }
+
+   /*
+    * A POM written or created outside of MavenCoreFacet may be the parent or an imported BOM of another project; only
+    * its own coordinate is dropped, so that remote parents and BOMs stay cached
+    */
+   void resourceChanged(@Observes final ResourceEvent event)
+   {
+      if (isPOM(event.getResource()))
+      {
+         invalidate(event.getResource());
+      }
+   }
+
+   void resourcesCommitted(@Observes final ResourceTransactionCommitted event)
+   {
+      for (Resource<?> resource : event.getResources())
+      {
+         if (isPOM(resource))
+         {
+            invalidate(resource);
+         }
+      }
+   }
+
+   private void invalidate(final Resource<?> resource)
+   {
+      Object file = resource.getUnderlyingResourceObject();
+      if (!(file instanceof File) || !((File) file).isFile())
+      {
+         return;
+      }
+
+      try
+      {
+         FileInputStream stream = new FileInputStream((File) file);
+         try
+         {
+            modelCache.invalidate(new MavenXpp3Reader().read(stream, false));
+         }
+         finally
+         {
+            stream.close();
+         }
+      }
+      catch (Exception e)
+      {
+         // not a readable POM, so nothing can have cached it
+      }
+   }
+
+   private static boolean isPOM(final Resource<?> resource)
+   {
+      return "pom.xml".equals(resource.getName());
+   }
+
+   /**
+    * Get the {@link LocalRepositoryLayout} of the local repository named in the current settings.
+    */
+   public synchronized LocalRepositoryLayout getLocalRepositoryLayout()
+   {
+      getSettings();
+      return localRepositoryLayout;
+   }
+
    public ProjectBuilder getBuilder()
    {
       return builder;
@@ -209,6 +374,10 @@ public class MavenContainer
             loggerManager.setThreshold("ERROR");
             getContainer().setLoggerManager(loggerManager);
 
+            ModelBuilder modelBuilder = getContainer().lookup(ModelBuilder.class);
+            getContainer().addComponent(new CachingModelBuilder(modelBuilder, modelCache), ModelBuilder.class,
+                     "default");
+
             builder = getContainer().lookup(ProjectBuilder.class);
          }
          catch (Exception e)
@@ -38,6 +38,7 @@ import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.events.FileWritten;
 import org.jboss.forge.resources.events.ResourceModified;
 import org.jboss.forge.shell.ShellPrintWriter;
 import org.jboss.forge.shell.plugins.Alias;
@@ -54,6 +55,16 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    private ProjectBuildingResult buildingResult;
    private ProjectBuildingResult fullBuildingResult;
 
+   /*
+    * Parsed POM, valid while the file's last-modified time and length are unchanged; guarded by this facet, as plugins
+    * may read the POM from background threads
+    */
+   private Model pomCache;
+   private long pomLastModified;
+   private long pomLength;
+   private long pomCacheHits;
+   private long pomReads;
+
    @Inject
    private MavenContainer container;
 
@@ -73,7 +84,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
     * POM manipulation methods
     */
    @Override
-   public ProjectBuildingResult getPartialProjectBuildingResult()
+   public synchronized ProjectBuildingResult getPartialProjectBuildingResult()
    {
       if (this.buildingResult == null)
       {
@@ -114,7 +125,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
     * POM manipulation methods
     */
    @Override
-   public ProjectBuildingResult getFullProjectBuildingResult()
+   public synchronized ProjectBuildingResult getFullProjectBuildingResult()
    {
       if (this.fullBuildingResult == null)
       {
@@ -142,14 +153,34 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
       return fullBuildingResult;
    }
 
-   private void invalidateBuildingResults()
+   private synchronized void invalidateBuildingResults()
    {
       this.buildingResult = null;
       this.fullBuildingResult = null;
    }
 
    @Override
-   public Model getPOM()
+   public synchronized Model getPOM()
+   {
+      File file = getPOMFile().getUnderlyingResourceObject();
+      long lastModified = file.lastModified();
+      long length = file.length();
+
+      if ((pomCache != null) && (pomLastModified == lastModified) && (pomLength == length))
+      {
+         pomCacheHits++;
+      }
+      else
+      {
+         pomCache = readPOM(file);
+         pomLastModified = lastModified;
+         pomLength = length;
+         pomReads++;
+      }
+      return copyOf(pomCache, file);
+   }
+
+   private Model readPOM(final File file)
    {
       try
       {
@@ -157,14 +188,20 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
 
          // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
          MavenXpp3Reader reader = new MavenXpp3Reader();
-         FileInputStream stream = new FileInputStream(getPOMFile().getUnderlyingResourceObject());
-         if (stream.available() > 0)
+         FileInputStream stream = new FileInputStream(file);
+         try
+         {
+            if (stream.available() > 0)
+            {
+               result = reader.read(stream);
+            }
+         }
+         finally
          {
-            result = reader.read(stream);
+            stream.close();
          }
-         stream.close();
 
-         result.setPomFile(getPOMFile().getUnderlyingResourceObject());
+         result.setPomFile(file);
          return result;
       }
       catch (IOException e)
@@ -177,16 +214,54 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
       }
    }
 
+   private Model copyOf(final Model pom, final File file)
+   {
+      Model result = pom.clone();
+      result.setPomFile(file);
+      return result;
+   }
+
+   /**
+    * Get the number of {@link #getPOM()} calls served from the cached POM {@link Model}.
+    */
+   public synchronized long getPOMCacheHits()
+   {
+      return pomCacheHits;
+   }
+
+   /**
+    * Get the number of times the POM file has been read and parsed by {@link #getPOM()}.
+    */
+   public synchronized long getPOMReads()
+   {
+      return pomReads;
+   }
+
    @Override
    public void setPOM(final Model pom)
    {
       try
       {
          // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
-         MavenXpp3Writer writer = new MavenXpp3Writer();
-         FileWriter fw = new FileWriter(getPOMFile().getUnderlyingResourceObject());
-         writer.write(fw, pom);
-         fw.close();
+         File file = getPOMFile().getUnderlyingResourceObject();
+         synchronized (this)
+         {
+            if (pomCache != null)
+            {
+               invalidateModelCache(pomCache);
+            }
+            invalidateModelCache(pom);
+
+            MavenXpp3Writer writer = new MavenXpp3Writer();
+            FileWriter fw = new FileWriter(file);
+            writer.write(fw, pom);
+            fw.close();
+
+            pomCache = copyOf(pom, file);
+            pomLastModified = file.lastModified();
+            pomLength = file.length();
+         }
+         manager.fireEvent(new FileWritten(file));
          manager.fireEvent(new ResourceModified(getPOMFile()), new Annotation[] {});
       }
       catch (IOException e)
@@ -196,6 +271,14 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
       invalidateBuildingResults();
    }
 
+   /*
+    * Projects inheriting from or importing this POM must not see a stale copy of it
+    */
+   private void invalidateModelCache(final Model pom)
+   {
+      container.getModelCache().invalidate(pom);
+   }
+
    private Model createPOM()
    {
       FileResource<?> pomFile = getPOMFile();
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.maven.facets;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.building.ModelCache;
+
+/**
+ * Bounded, in-JVM {@link ModelCache} shared by all model builds, holding resolved parent POMs and imported BOMs by
+ * groupId:artifactId:version. Only released coordinates are cached, since SNAPSHOT POMs may change at any time; entries
+ * must still be invalidated when a POM with a given coordinate is modified.
+ */
+public class SharedModelCache implements ModelCache
+{
+   public static final int DEFAULT_CAPACITY = 256;
+
+   private final Map<String, Map<String, Object>> entries;
+
+   public SharedModelCache()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public SharedModelCache(final int capacity)
+   {
+      this.entries = new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true)
+      {
+         private static final long serialVersionUID = 5326470981542795103L;
+
+         @Override
+         protected boolean removeEldestEntry(final Entry<String, Map<String, Object>> eldest)
+         {
+            return size() > capacity;
+         }
+      };
+   }
+
+   @Override
+   public synchronized void put(final String groupId, final String artifactId, final String version,
+            final String tag, final Object data)
+   {
+      if ((version == null) || ArtifactUtils.isSnapshot(version))
+      {
+         return;
+      }
+
+      String key = keyFor(groupId, artifactId, version);
+      Map<String, Object> tags = entries.get(key);
+      if (tags == null)
+      {
+         tags = new HashMap<String, Object>();
+         entries.put(key, tags);
+      }
+      tags.put(tag, data);
+   }
+
+   @Override
+   public synchronized Object get(final String groupId, final String artifactId, final String version,
+            final String tag)
+   {
+      Map<String, Object> tags = entries.get(keyFor(groupId, artifactId, version));
+      return tags == null ? null : tags.get(tag);
+   }
+
+   /**
+    * Drop all data held for the given coordinate.
+    */
+   public synchronized void invalidate(final String groupId, final String artifactId, final String version)
+   {
+      entries.remove(keyFor(groupId, artifactId, version));
+   }
+
+   /**
+    * Drop all data held for the coordinate of the given POM, inheriting its groupId and version from its parent where
+    * they are not declared.
+    */
+   public void invalidate(final Model pom)
+   {
+      Parent parent = pom.getParent();
+      String groupId = pom.getGroupId();
+      String version = pom.getVersion();
+      if (parent != null)
+      {
+         groupId = groupId == null ? parent.getGroupId() : groupId;
+         version = version == null ? parent.getVersion() : version;
+      }
+      invalidate(groupId, pom.getArtifactId(), version);
+   }
+
+   /**
+    * Drop all entries.
+    */
+   public synchronized void clear()
+   {
+      entries.clear();
+   }
+
+   /**
+    * Get the number of coordinates for which data is held.
+    */
+   public synchronized int size()
+   {
+      return entries.size();
+   }
+
+   private static String keyFor(final String groupId, final String artifactId, final String version)
+   {
+      return groupId + ":" + artifactId + ":" + version;
+   }
+}
@@ -10,6 +10,7 @@ import java.io.InputStream;
 
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceTransaction;
 import org.jboss.forge.shell.ShellPrompt;
 
 /**
@@ -46,4 +47,19 @@ public class ScaffoldUtil
       return null;
    }
 
+   /**
+    * Stage the given contents in the given {@link ResourceTransaction}, unless the resource exists and may not be
+    * overwritten. The resource is only written once the transaction is committed.
+    */
+   public static Resource<?> createOrOverwrite(final ShellPrompt prompt, final ResourceTransaction transaction,
+            final FileResource<?> resource, final String contents, final boolean overwrite)
+   {
+      if (!resource.exists() || overwrite
+               || prompt.promptBoolean("[" + resource.getFullyQualifiedName() + "] File exists, overwrite?"))
+      {
+         transaction.setContents(resource, contents);
+         return resource;
+      }
+      return null;
+   }
 }
@@ -42,6 +42,7 @@ import org.jboss.forge.project.facets.events.InstallFacets;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFilter;
+import org.jboss.forge.resources.ResourceTransaction;
 import org.jboss.forge.scaffold.AccessStrategy;
 import org.jboss.forge.scaffold.ScaffoldProvider;
 import org.jboss.forge.scaffold.TemplateStrategy;
@@ -240,9 +241,10 @@ public class FacesScaffold extends BaseFacet implements ScaffoldProvider
       // *after* 'scaffold setup'
       setupRichFaces();
 
-      // Track the list of resources generated
+      // Track the list of resources generated; they are written together, once all have been rendered
 
       List<Resource<?>> result = new ArrayList<Resource<?>>();
+      ResourceTransaction transaction = new ResourceTransaction();
       try
       {
          JavaSourceFacet java = this.project.getFacet(JavaSourceFacet.class);
@@ -269,8 +271,8 @@ public class FacesScaffold extends BaseFacet implements ScaffoldProvider
          // Create the Backing Bean for this entity
          JavaClass viewBean = JavaParser.parse(JavaClass.class, this.backingBeanTemplate.render(context));
          viewBean.setPackage(java.getBasePackage() + ".view");
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, java.getJavaResource(viewBean), viewBean.toString(),
-                  overwrite));
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction, java.getJavaResource(viewBean),
+                  viewBean.toString(), overwrite));
 
          // Set new context for view generation
          context = getTemplateContext(targetDir, template);
@@ -289,7 +291,7 @@ public class FacesScaffold extends BaseFacet implements ScaffoldProvider
          // Generate create
          writeEntityMetawidget(context, this.createTemplateEntityMetawidgetIndent, this.createTemplateNamespaces);
 
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt,
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction,
                   web.getWebResource(targetDir + "/" + ccEntity + "/create.xhtml"),
                   this.createTemplate.render(context),
                   overwrite));
@@ -298,7 +300,7 @@ public class FacesScaffold extends BaseFacet implements ScaffoldProvider
          this.entityMetawidget.setReadOnly(true);
          writeEntityMetawidget(context, this.viewTemplateEntityMetawidgetIndent, this.viewTemplateNamespaces);
 
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt,
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction,
                   web.getWebResource(targetDir + "/" + ccEntity + "/view.xhtml"),
                   this.viewTemplate.render(context), overwrite));
 
@@ -310,26 +312,27 @@ public class FacesScaffold extends BaseFacet implements ScaffoldProvider
          writeSearchAndBeanMetawidget(context, this.searchTemplateSearchMetawidgetIndent,
                   this.searchTemplateBeanMetawidgetIndent, this.searchTemplateNamespaces);
 
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt,
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction,
                   web.getWebResource(targetDir + "/" + ccEntity + "/search.xhtml"),
                   this.searchTemplate.render(context), overwrite));
 
-         // Generate navigation
-         result.add(generateNavigation(targetDir, overwrite));
-
          // Need ViewUtils and forge.taglib.xml for forgeview:asList
          JavaClass viewUtils = JavaParser.parse(JavaClass.class, this.viewUtilsTemplate.render(context));
          viewUtils.setPackage(viewBean.getPackage());
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, java.getJavaResource(viewUtils), viewUtils.toString(),
-                  true));
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction, java.getJavaResource(viewUtils),
+                  viewUtils.toString(), true));
 
          context.put("viewPackage", viewBean.getPackage());
-         result.add(ScaffoldUtil.createOrOverwrite(this.prompt,
+         result.add(ScaffoldUtil.createOrOverwrite(this.prompt, transaction,
                   web.getWebResource("WEB-INF/classes/META-INF/forge.taglib.xml"),
                   this.taglibTemplate.render(context), true));
 
          createInitializers(entity);
-         this.project.getFacet(JavaSourceFacet.class).saveJavaSource(entity);
+         transaction.setContents(java.getJavaResource(entity), entity.toString());
+         transaction.commit();
+
+         // Generate navigation, once the views it links to exist
+         result.add(generateNavigation(targetDir, overwrite));
 
       }
       catch (Exception e)
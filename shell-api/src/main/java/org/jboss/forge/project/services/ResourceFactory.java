@@ -9,7 +9,12 @@ package org.jboss.forge.project.services;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import javax.enterprise.context.spi.CreationalContext;
@@ -26,7 +31,13 @@ import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceHandles;
 import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceDeleted;
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
+import org.jboss.forge.resources.java.JavaSourceCache;
 import org.jboss.forge.shell.events.PostStartup;
+import org.jboss.forge.shell.events.ProjectChanged;
 
 /**
  * @author Mike Brock <cbrock@redhat.com>
@@ -37,25 +48,54 @@ public class ResourceFactory implements Extension
    @Inject
    private Instance<BeanManager> managerInstance;
 
-   private final List<ResourceGenerator> resourceGenerators = new ArrayList<ResourceGenerator>();
+   private final JavaSourceCache javaSourceCache = new JavaSourceCache();
 
    /**
-    * Most directories will tend to contain the same type of file (such as .java, .jar, .xml, etc). So we will remember
-    * the last resource type we tested against and always re-try on subsequent queries before doing a comprehensive
-    * match.
+    * Generators are matched against file names through an immutable {@link DispatchTable}, replaced wholesale whenever
+    * a new generator is registered, so that lookups never need to lock.
     */
-   private volatile ResourceGenerator lastTypeLoaded = new ResourceGenerator()
+   private volatile DispatchTable dispatchTable = new DispatchTable(new ArrayList<ResourceGenerator>());
+
+   public void setManager(@Observes final PostStartup event, final Instance<BeanManager> manager)
    {
-      @Override
-      public boolean matches(final String name)
+      this.managerInstance = manager;
+   }
+
+   public void evictModified(@Observes final ResourceModified event)
+   {
+      evict(event);
+   }
+
+   public void evictDeleted(@Observes final ResourceDeleted event)
+   {
+      evict(event);
+   }
+
+   public void evictCommitted(@Observes final ResourceTransactionCommitted event)
+   {
+      for (Resource<?> resource : event.getResources())
       {
-         return false;
+         evict(resource);
       }
-   };
+   }
 
-   public void setManager(@Observes final PostStartup event, final Instance<BeanManager> manager)
+   public void clearOnProjectChange(@Observes final ProjectChanged event)
    {
-      this.managerInstance = manager;
+      javaSourceCache.clear();
+   }
+
+   private void evict(final ResourceEvent event)
+   {
+      evict(event.getResource());
+   }
+
+   private void evict(final Resource<?> resource)
+   {
+      Object underlying = resource.getUnderlyingResourceObject();
+      if (underlying instanceof File)
+      {
+         javaSourceCache.invalidate((File) underlying);
+      }
    }
 
    public void scan(@Observes final ProcessBean<Resource<?>> event, final BeanManager manager)
@@ -67,32 +107,35 @@ public class ResourceFactory implements Extension
       {
          for (String pspec : clazz.getAnnotation(ResourceHandles.class).value())
          {
-            Pattern p = Pattern.compile(pathspecToRegEx(pspec));
             CreationalContext<?> creationalCtx = manager.createCreationalContext(bean);
             Resource<?> rInst = (Resource<?>) manager.getReference(bean, bean.getBeanClass(), creationalCtx);
 
-            resourceGenerators.add(new ResourceGenerator(p, rInst));
+            addGenerator(new ResourceGenerator(pspec, rInst));
          }
       }
    }
 
+   private synchronized void addGenerator(final ResourceGenerator generator)
+   {
+      List<ResourceGenerator> generators = new ArrayList<ResourceGenerator>(dispatchTable.generators);
+      generators.add(generator);
+      dispatchTable = new DispatchTable(generators);
+   }
+
    @SuppressWarnings("unchecked")
    public <E, T extends Resource<E>> T createFromType(final Class<T> type, final E underlyingResource)
    {
-      synchronized (this)
+      for (ResourceGenerator gen : dispatchTable.generators)
       {
-         for (ResourceGenerator gen : resourceGenerators)
+         Resource<?> resource = gen.getResource();
+         if (type.isAssignableFrom(resource.getClass()))
          {
-            Resource<?> resource = gen.getResource();
-            if (type.isAssignableFrom(resource.getClass()))
-            {
-               /*
-                * This little <T> hack is required due to bug in javac:
-                * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
-                */
-               T result = (lastTypeLoaded = gen).<T> getResource();
-               return (T) result.createFrom(underlyingResource);
-            }
+            /*
+             * This little <T> hack is required due to bug in javac:
+             * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
+             */
+            T result = gen.<T> getResource();
+            return (T) result.createFrom(underlyingResource);
          }
       }
       return null;
@@ -109,27 +152,23 @@ public class ResourceFactory implements Extension
          return new DirectoryResource(this, file);
       }
 
-      final String name = file.getName();
-
-      synchronized (this)
+      ResourceGenerator gen = dispatchTable.lookup(file.getName());
+      if (gen != null)
       {
-         if (lastTypeLoaded.matches(name))
-         {
-            return lastTypeLoaded.getResource(File.class).createFrom(file);
-         }
-
-         for (ResourceGenerator gen : resourceGenerators)
-         {
-            if (gen.matches(name))
-            {
-               return (lastTypeLoaded = gen).getResource(File.class).createFrom(file);
-            }
-         }
+         return gen.getResource(File.class).createFrom(file);
       }
 
       return new UnknownFileResource(this, file);
    }
 
+   /**
+    * Get the cache of parsed Java sources shared by all resources created through this factory.
+    */
+   public JavaSourceCache getJavaSourceCache()
+   {
+      return javaSourceCache;
+   }
+
    public BeanManager getManagerInstance()
    {
       if (managerInstance != null)
@@ -139,20 +178,123 @@ public class ResourceFactory implements Extension
       return null;
    }
 
-   static class ResourceGenerator
+   /**
+    * Maps file names to the first registered {@link ResourceGenerator} whose pathspec matches. Plain names and
+    * <code>*.ext</code> pathspecs are resolved through hash lookups; only the remaining pathspecs are matched as regular
+    * expressions. Decisions are cached per file name.
+    */
+   static class DispatchTable
    {
-      private Pattern pattern;
-      private Resource<?> resource;
+      private static final int MAX_CACHED_NAMES = 4096;
+      private static final Object NO_MATCH = new Object();
 
-      ResourceGenerator()
+      private final List<ResourceGenerator> generators;
+      private final Map<String, Integer> names = new HashMap<String, Integer>();
+      private final Map<String, Integer> suffixes = new HashMap<String, Integer>();
+      private final List<Integer> patterns = new ArrayList<Integer>();
+      private final ConcurrentMap<String, Object> decisions = new ConcurrentHashMap<String, Object>();
+
+      DispatchTable(final List<ResourceGenerator> generators)
       {
+         this.generators = Collections.unmodifiableList(generators);
+         for (int i = 0; i < generators.size(); i++)
+         {
+            String pathspec = generators.get(i).getPathspec();
+            if (!hasWildcard(pathspec))
+            {
+               putFirst(names, pathspec, i);
+            }
+            else if (pathspec.startsWith("*.") && !hasWildcard(pathspec.substring(1)))
+            {
+               putFirst(suffixes, pathspec.substring(2), i);
+            }
+            else
+            {
+               patterns.add(i);
+            }
+         }
+      }
+
+      /**
+       * Return the {@link ResourceGenerator} handling the given file name, or null if there is none.
+       */
+      ResourceGenerator lookup(final String name)
+      {
+         Object decision = decisions.get(name);
+         if (decision == null)
+         {
+            int index = match(name);
+            decision = index < 0 ? NO_MATCH : generators.get(index);
+            if (decisions.size() >= MAX_CACHED_NAMES)
+            {
+               decisions.clear();
+            }
+            decisions.put(name, decision);
+         }
+         return decision == NO_MATCH ? null : (ResourceGenerator) decision;
+      }
+
+      private int match(final String name)
+      {
+         int result = lowest(-1, names.get(name));
+         for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1))
+         {
+            result = lowest(result, suffixes.get(name.substring(dot + 1)));
+         }
+         for (Integer index : patterns)
+         {
+            if ((result >= 0) && (index > result))
+            {
+               break;
+            }
+            if (generators.get(index).matches(name))
+            {
+               result = index;
+               break;
+            }
+         }
+         return result;
+      }
+
+      private static int lowest(final int current, final Integer candidate)
+      {
+         if ((candidate != null) && ((current < 0) || (candidate < current)))
+         {
+            return candidate;
+         }
+         return current;
       }
 
-      ResourceGenerator(final Pattern pattern, final Resource<?> resource)
+      private static void putFirst(final Map<String, Integer> map, final String key, final int index)
       {
-         this.pattern = pattern;
+         if (!map.containsKey(key))
+         {
+            map.put(key, index);
+         }
+      }
+
+      private static boolean hasWildcard(final String pathspec)
+      {
+         return (pathspec.indexOf('*') >= 0) || (pathspec.indexOf('?') >= 0);
+      }
+   }
+
+   static class ResourceGenerator
+   {
+      private final String pathspec;
+      private final Pattern pattern;
+      private final Resource<?> resource;
+
+      ResourceGenerator(final String pathspec, final Resource<?> resource)
+      {
+         this.pathspec = pathspec;
+         this.pattern = Pattern.compile(pathspecToRegEx(pathspec));
          this.resource = resource;
+      }
 
+      public String getPathspec()
+      {
+         return pathspec;
       }
 
       public boolean matches(final String name)
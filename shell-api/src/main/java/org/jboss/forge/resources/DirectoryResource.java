@@ -9,8 +9,10 @@ package org.jboss.forge.resources;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.project.services.ResourceFactory;
@@ -24,7 +26,7 @@ import org.jboss.forge.shell.util.OSUtils;
  */
 public class DirectoryResource extends FileResource<DirectoryResource>
 {
-   private volatile List<Resource<?>> listCache;
+   private volatile ChildList listCache;
 
    public DirectoryResource(final ResourceFactory factory, final File file)
    {
@@ -42,28 +44,60 @@ public class DirectoryResource extends FileResource<DirectoryResource>
 
       if (listCache == null)
       {
-         listCache = new LinkedList<Resource<?>>();
-
-         File[] files = file.listFiles();
-         if (files != null)
+         markUpToDate();
+         String[] names = file.list();
+         if (names == null)
          {
-            for (File f : files)
-            {
-               listCache.add(resourceFactory.getResourceFrom(f));
-            }
+            names = new String[0];
          }
+         Arrays.sort(names);
+         listCache = new ChildList(names);
       }
 
       return listCache;
    }
 
+   /**
+    * Discard the cached listing of this directory, so that it is read again on next access.
+    */
+   public void refresh()
+   {
+      listCache = null;
+   }
+
+   /**
+    * Children are listed in name order, which for siblings is also fully qualified name order, so no further sorting
+    * is needed.
+    */
+   @Override
+   public synchronized List<Resource<?>> listResources()
+   {
+      return doListResources();
+   }
+
    /**
     * Obtain a reference to the child resource.
     */
    @Override
    public Resource<?> getChild(final String name)
    {
-      return resourceFactory.getResourceFrom(new File(file.getAbsolutePath(), name));
+      return adopt(resourceFactory.getResourceFrom(new File(file.getAbsolutePath(), name)));
+   }
+
+   /**
+    * Make this the parent of a newly created child resource, so that children share a single parent instance.
+    */
+   private Resource<?> adopt(final Resource<?> child)
+   {
+      if (child instanceof FileResource)
+      {
+         FileResource<?> resource = (FileResource<?>) child;
+         if ((resource.parent == null) && file.equals(resource.file.getParentFile()))
+         {
+            resource.parent = this;
+         }
+      }
+      return child;
    }
 
    /**
@@ -175,9 +209,14 @@ public class DirectoryResource extends FileResource<DirectoryResource>
    @Override
    public String getName()
    {
-      String fileName = file.getName();
+      return getName(file);
+   }
+
+   static String getName(final File directory)
+   {
+      String fileName = directory.getName();
       // Windows: drive letter is needed. If filename is empty, we are on a root folder
-      return (OSUtils.isWindows() && fileName.length() == 0) ? file.getPath() : fileName;
+      return (OSUtils.isWindows() && fileName.length() == 0) ? directory.getPath() : fileName;
    }
 
    @Override
@@ -186,6 +225,48 @@ public class DirectoryResource extends FileResource<DirectoryResource>
       return getName();
    }
 
+   /**
+    * The children of this directory, in name order. Each child {@link Resource} is only typed, which requires a stat of
+    * the underlying file, when it is first accessed.
+    */
+   private class ChildList extends AbstractList<Resource<?>> implements RandomAccess
+   {
+      private final String[] names;
+      private final Resource<?>[] resources;
+
+      ChildList(final String[] names)
+      {
+         this.names = names;
+         this.resources = new Resource<?>[names.length];
+      }
+
+      @Override
+      public synchronized Resource<?> get(final int index)
+      {
+         Resource<?> result = resources[index];
+         if (result == null)
+         {
+            result = adopt(resourceFactory.getResourceFrom(new File(file, names[index])));
+            resources[index] = result;
+         }
+         return result;
+      }
+
+      @Override
+      public synchronized Resource<?> set(final int index, final Resource<?> resource)
+      {
+         Resource<?> result = get(index);
+         resources[index] = resource;
+         return result;
+      }
+
+      @Override
+      public int size()
+      {
+         return names.length;
+      }
+   }
+
    @Override
    public boolean equals(final Object obj)
    {
@@ -17,11 +17,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.events.FileWritten;
 import org.jboss.forge.resources.events.ResourceCreated;
 import org.jboss.forge.resources.events.ResourceDeleted;
 import org.jboss.forge.resources.events.ResourceModified;
@@ -37,6 +41,15 @@ import org.jboss.forge.shell.util.OSUtils;
  */
 public abstract class FileResource<T extends FileResource<?>> extends AbstractResource<File>
 {
+   private static final int BUFFER_SIZE = 64 * 1024;
+   private static final String SCRATCH_SUFFIX = ".tmp";
+
+   /*
+    * Text is written as UTF-8 unless another charset is given, as it is read by Streams.toString(), so that contents
+    * do not depend on the platform the shell runs on
+    */
+   static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
    protected boolean scratch;
 
    protected File file;
@@ -44,6 +57,8 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
 
    protected long lastModification;
 
+   private String fullyQualifiedName;
+
    protected FileResource(final ResourceFactory factory, final File file)
    {
       super(factory, null);
@@ -98,9 +113,32 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
     * @return An instance of the resource parent.
     */
    @Override
-   public Resource<?> getParent()
+   public synchronized Resource<?> getParent()
    {
-      return file.getParentFile() != null ? new DirectoryResource(resourceFactory, file.getParentFile()) : null;
+      if ((parent == null) && (file.getParentFile() != null))
+      {
+         parent = new DirectoryResource(resourceFactory, file.getParentFile());
+      }
+      return parent;
+   }
+
+   /**
+    * Get the fully qualified name of this resource. This is computed once from the underlying {@link File}, without
+    * creating any parent resources.
+    */
+   @Override
+   public String getFullyQualifiedName()
+   {
+      if (fullyQualifiedName == null)
+      {
+         StringBuilder result = new StringBuilder(getName());
+         for (File ancestor = file.getParentFile(); ancestor != null; ancestor = ancestor.getParentFile())
+         {
+            result.insert(0, '/').insert(0, DirectoryResource.getName(ancestor));
+         }
+         fullyQualifiedName = result.toString();
+      }
+      return fullyQualifiedName;
    }
 
    @Override
@@ -279,73 +317,286 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
    }
 
    /**
-    * Set the contents of this {@link FileResource} to the given character array.
+    * Set the contents of this {@link FileResource} to the given character array, encoded in UTF-8.
     */
    public T setContents(final char[] data)
    {
-      return setContents(new ByteArrayInputStream(new String(data).getBytes()));
+      return setContents(data, DEFAULT_CHARSET);
    }
 
-   @SuppressWarnings("unchecked")
    /**
-    * Set the contents of this {@link FileResource} to the contents of the given {@link InputStream}.
+    * Set the contents of this {@link FileResource} to the given character array, encoded in the given {@link Charset}.
     */
-   public T setContents(final InputStream data)
+   public T setContents(final char[] data, final Charset charset)
    {
-      T temp = null;
+      byte[] bytes = new String(data).getBytes(charset);
       try
       {
-         if (!exists())
+         if (hasContents(bytes))
          {
-            mkdirs();
-            delete();
-            if (!createNewFile())
-            {
-               throw new IOException("Failed to create file: " + file);
-            }
+            return unchanged();
          }
+      }
+      catch (IOException e)
+      {
+         throw new ProjectModelException(e);
+      }
+      return setContents(new ByteArrayInputStream(bytes));
+   }
 
-         file.delete();
+   /**
+    * Set the contents of this {@link FileResource} to the contents of the given {@link File}.
+    */
+   public T setContents(final File source)
+   {
+      try
+      {
+         if (sameContents(source, file))
+         {
+            return unchanged();
+         }
 
-         OutputStream out = new FileOutputStream(file);
+         boolean existed = file.exists();
+         File temp = createScratchFile();
          try
          {
-            byte buf[] = new byte[1024];
-            int len;
-            while ((len = data.read(buf)) > 0)
+            FileChannel in = new FileInputStream(source).getChannel();
+            try
             {
-               out.write(buf, 0, len);
+               FileChannel out = new FileOutputStream(temp).getChannel();
+               try
+               {
+                  long size = in.size();
+                  long position = 0;
+                  while (position < size)
+                  {
+                     position += in.transferTo(position, size - position, out);
+                  }
+               }
+               finally
+               {
+                  out.close();
+               }
             }
+            finally
+            {
+               in.close();
+            }
+            replaceWith(temp);
          }
          finally
          {
-            if (data != null)
+            temp.delete();
+         }
+         return written(existed);
+      }
+      catch (IOException e)
+      {
+         throw new ProjectModelException(e);
+      }
+   }
+
+   /**
+    * Set the contents of this {@link FileResource} to the contents of the given {@link InputStream}. The data is first
+    * written to a file in the same directory, which then replaces this file, so that readers never see a missing or
+    * partially written file. If the data is identical to the current contents, the file is left untouched and no event
+    * is fired.
+    */
+   public T setContents(final InputStream data)
+   {
+      try
+      {
+         boolean existed = file.exists();
+         File temp = createScratchFile();
+         try
+         {
+            OutputStream out = new FileOutputStream(temp);
+            try
+            {
+               byte buf[] = new byte[BUFFER_SIZE];
+               int len;
+               while ((len = data.read(buf)) > 0)
+               {
+                  out.write(buf, 0, len);
+               }
+            }
+            finally
+            {
                data.close();
+               out.close();
+            }
 
-            out.flush();
-            out.close();
-            if (OSUtils.isWindows())
+            if (existed && sameContents(temp, file))
             {
-               System.gc();
+               return unchanged();
             }
+            replaceWith(temp);
          }
-
-         fireResourceModified();
+         finally
+         {
+            temp.delete();
+         }
+         return written(existed);
       }
       catch (IOException e)
       {
          throw new ProjectModelException(e);
       }
-      finally
+   }
+
+   /**
+    * Return true if the given file name is that of a scratch file, used while replacing the contents of a
+    * {@link FileResource}. Such files only exist briefly, and are not resources in their own right.
+    */
+   public static boolean isScratchFile(final String name)
+   {
+      return name.startsWith(".") && name.endsWith(SCRATCH_SUFFIX) && (name.indexOf('-') > 1);
+   }
+
+   /**
+    * Return the file that is actually replaced when this file is written. Where this file is a symbolic link, that is
+    * the file it links to, so that the link itself is kept.
+    */
+   File getWriteTarget() throws IOException
+   {
+      return file.getCanonicalFile();
+   }
+
+   File createScratchFile() throws IOException
+   {
+      File target = getWriteTarget();
+      createWriteDirectory();
+      return File.createTempFile("." + target.getName() + "-", SCRATCH_SUFFIX, target.getParentFile());
+   }
+
+   /**
+    * Create the directory this file is written to, and any missing parents. Return the outermost directory created, or
+    * null if the directory already existed.
+    */
+   File createWriteDirectory() throws IOException
+   {
+      File directory = getWriteTarget().getParentFile();
+      File outermost = null;
+      for (File parent = directory; (parent != null) && !parent.exists(); parent = parent.getParentFile())
+      {
+         outermost = parent;
+      }
+      if (!directory.mkdirs() && !directory.isDirectory())
       {
-         if (temp != null)
+         throw new IOException("Failed to create directory: " + directory);
+      }
+      return outermost;
+   }
+
+   /**
+    * Move the given file over this one, keeping this file's permissions; where the platform cannot replace an existing
+    * file by renaming, this file is deleted first.
+    */
+   private void replaceWith(final File temp) throws IOException
+   {
+      File target = getWriteTarget();
+      if (target.exists())
+      {
+         copyPermissions(target, temp);
+      }
+      if (!temp.renameTo(target))
+      {
+         target.delete();
+         if (!temp.renameTo(target))
          {
-            temp.delete();
+            throw new IOException("Failed to write file: " + target);
          }
       }
+   }
+
+   /*
+    * Only the current user's access can be read through java.io, so owner permissions are copied, and an executable
+    * file stays executable by all.
+    */
+   static void copyPermissions(final File from, final File to)
+   {
+      to.setReadable(from.canRead(), true);
+      to.setWritable(from.canWrite(), true);
+      if (from.canExecute())
+      {
+         to.setExecutable(true, false);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private T written(final boolean existed)
+   {
+      if (!existed)
+      {
+         fireResourceCreated();
+      }
+      fireResourceModified();
+      return (T) this;
+   }
+
+   @SuppressWarnings("unchecked")
+   private T unchanged()
+   {
       return (T) this;
    }
 
+   boolean hasContents(final byte[] bytes) throws IOException
+   {
+      if (!file.isFile() || (file.length() != bytes.length))
+      {
+         return false;
+      }
+      return sameContents(new ByteArrayInputStream(bytes), new FileInputStream(file));
+   }
+
+   private static boolean sameContents(final File left, final File right) throws IOException
+   {
+      if (!left.isFile() || !right.isFile() || (left.length() != right.length()))
+      {
+         return false;
+      }
+      return sameContents(new FileInputStream(left), new FileInputStream(right));
+   }
+
+   private static boolean sameContents(final InputStream left, final InputStream right) throws IOException
+   {
+      try
+      {
+         byte[] leftBuf = new byte[BUFFER_SIZE];
+         byte[] rightBuf = new byte[BUFFER_SIZE];
+         int len;
+         while ((len = fill(left, leftBuf)) > 0)
+         {
+            if ((fill(right, rightBuf) != len) || !Arrays.equals(leftBuf, rightBuf))
+            {
+               return false;
+            }
+         }
+         return fill(right, rightBuf) == 0;
+      }
+      finally
+      {
+         left.close();
+         right.close();
+      }
+   }
+
+   /**
+    * Read from the stream until the buffer is full or the stream is exhausted, returning the number of bytes read. Any
+    * unused tail of the buffer is zeroed.
+    */
+   private static int fill(final InputStream in, final byte[] buf) throws IOException
+   {
+      int total = 0;
+      int len;
+      while ((total < buf.length) && ((len = in.read(buf, total, buf.length - total)) > 0))
+      {
+         total += len;
+      }
+      Arrays.fill(buf, total, buf.length, (byte) 0);
+      return total;
+   }
+
    /**
     * Create the file in the underlying resource system. Necessary directory paths will be created automatically.
     */
@@ -432,19 +683,21 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
       File original = file.getAbsoluteFile();
       if (file.renameTo(target))
       {
-         fireResourceMoved(original);
+         fireResourceMoved(original, target);
          return true;
       }
       return false;
    }
 
-   private void fireResourceMoved(final File original)
+   private void fireResourceMoved(final File original, final File target)
    {
       if (resourceFactory != null)
       {
          BeanManager manager = resourceFactory.getManagerInstance();
          if (manager != null)
          {
+            manager.fireEvent(new FileWritten(original));
+            manager.fireEvent(new FileWritten(target));
             manager.fireEvent(
                      new ResourceRenamed(this, original.getAbsolutePath(), file.getAbsolutePath()));
          }
@@ -458,6 +711,7 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
          BeanManager manager = resourceFactory.getManagerInstance();
          if (manager != null)
          {
+            manager.fireEvent(new FileWritten(file));
             manager.fireEvent(new ResourceModified(this));
          }
       }
@@ -470,6 +724,7 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
          BeanManager manager = resourceFactory.getManagerInstance();
          if (manager != null)
          {
+            manager.fireEvent(new FileWritten(file));
             manager.fireEvent(new ResourceCreated(this));
          }
       }
@@ -482,8 +737,10 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
          BeanManager manager = resourceFactory.getManagerInstance();
          if (manager != null)
          {
+            manager.fireEvent(new FileWritten(file));
             manager.fireEvent(new ResourceDeleted(this));
          }
       }
    }
+
 }
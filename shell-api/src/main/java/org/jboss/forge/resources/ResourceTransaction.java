@@ -0,0 +1,408 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.events.FileWritten;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
+import org.jboss.forge.shell.util.Streams;
+
+/**
+ * Stages the contents of a number of {@link FileResource} instances in memory, and writes them all in one pass when
+ * committed. Staged contents are not visible through the resources until then.
+ * <p>
+ * On commit, all contents are first written to scratch files, in parallel; only if that succeeds are the target files
+ * replaced. If any write fails, files already replaced are restored, directories created for new files are removed
+ * again, and a {@link ResourceException} is thrown. Once committed, the usual {@link ResourceCreated} and
+ * {@link ResourceModified} events are fired for each file written, followed by a single
+ * {@link ResourceTransactionCommitted} event for the whole transaction.
+ */
+public class ResourceTransaction
+{
+   public static final int MAX_THREADS = 4;
+
+   private static ExecutorService executor;
+
+   private final Map<FileResource<?>, byte[]> staged = new LinkedHashMap<FileResource<?>, byte[]>();
+
+   /**
+    * Stage the given {@link String} as the new contents of the given resource, encoded in UTF-8.
+    */
+   public ResourceTransaction setContents(final FileResource<?> resource, final String contents)
+   {
+      return setContents(resource, contents == null ? "" : contents, FileResource.DEFAULT_CHARSET);
+   }
+
+   /**
+    * Stage the given {@link String} as the new contents of the given resource, encoded in the given {@link Charset}.
+    */
+   public ResourceTransaction setContents(final FileResource<?> resource, final String contents, final Charset charset)
+   {
+      return stage(resource, contents.getBytes(charset));
+   }
+
+   /**
+    * Stage the contents of the given {@link InputStream} as the new contents of the given resource. The stream is read
+    * fully, and closed.
+    */
+   public ResourceTransaction setContents(final FileResource<?> resource, final InputStream contents)
+   {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      Streams.write(contents, buffer);
+      Streams.closeQuietly(contents);
+      return stage(resource, buffer.toByteArray());
+   }
+
+   /**
+    * Get the resources staged in this transaction, in the order in which they were first staged.
+    */
+   public synchronized List<FileResource<?>> getResources()
+   {
+      return new ArrayList<FileResource<?>>(staged.keySet());
+   }
+
+   /**
+    * Discard all staged contents.
+    */
+   public synchronized void rollback()
+   {
+      staged.clear();
+   }
+
+   /**
+    * Write all staged contents. Resources whose contents are unchanged are left untouched.
+    *
+    * @throws ResourceException if any resource could not be written; no resource is modified in that case.
+    */
+   public synchronized void commit() throws ResourceException
+   {
+      List<Write> writes = new ArrayList<Write>();
+      boolean committed = false;
+      try
+      {
+         for (Map.Entry<FileResource<?>, byte[]> entry : staged.entrySet())
+         {
+            if (!entry.getKey().hasContents(entry.getValue()))
+            {
+               writes.add(new Write(entry.getKey(), entry.getValue()));
+            }
+         }
+
+         prepare(writes);
+         replace(writes);
+         committed = true;
+      }
+      catch (IOException e)
+      {
+         throw new ResourceException("Failed to commit resource transaction: " + e.getMessage(), e);
+      }
+      finally
+      {
+         for (Write write : writes)
+         {
+            write.cleanup();
+         }
+         if (!committed)
+         {
+            for (Write write : writes)
+            {
+               write.removeDirectories();
+            }
+         }
+         staged.clear();
+      }
+
+      fireCommitted(writes);
+   }
+
+   private synchronized ResourceTransaction stage(final FileResource<?> resource, final byte[] contents)
+   {
+      staged.remove(resource);
+      staged.put(resource, contents);
+      return this;
+   }
+
+   /**
+    * Write every scratch file, in parallel.
+    */
+   private void prepare(final List<Write> writes) throws IOException
+   {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (final Write write : writes)
+      {
+         futures.add(getExecutor().submit(new Callable<Void>()
+         {
+            @Override
+            public Void call() throws Exception
+            {
+               write.prepare();
+               return null;
+            }
+         }));
+      }
+
+      IOException failure = null;
+      for (Future<Void> future : futures)
+      {
+         try
+         {
+            future.get();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            failure = new IOException("Interrupted while writing resources");
+         }
+         catch (ExecutionException e)
+         {
+            if (failure == null)
+            {
+               failure = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e
+                        .getCause().getMessage());
+            }
+         }
+      }
+
+      if (failure != null)
+      {
+         throw failure;
+      }
+   }
+
+   /**
+    * Move every scratch file over its target, restoring the originals if any move fails.
+    */
+   private void replace(final List<Write> writes) throws IOException
+   {
+      int replaced = 0;
+      try
+      {
+         for (Write write : writes)
+         {
+            write.replace();
+            replaced++;
+         }
+      }
+      finally
+      {
+         if (replaced < writes.size())
+         {
+            for (int i = 0; (i <= replaced) && (i < writes.size()); i++)
+            {
+               writes.get(i).restore();
+            }
+         }
+      }
+   }
+
+   private void fireCommitted(final List<Write> writes)
+   {
+      if (writes.isEmpty())
+      {
+         return;
+      }
+
+      List<Resource<?>> created = new ArrayList<Resource<?>>();
+      List<Resource<?>> modified = new ArrayList<Resource<?>>();
+      for (Write write : writes)
+      {
+         write.resource.markUpToDate();
+         (write.existed ? modified : created).add(write.resource);
+      }
+
+      ResourceFactory factory = writes.get(0).resource.getResourceFactory();
+      BeanManager manager = factory == null ? null : factory.getManagerInstance();
+      if (manager != null)
+      {
+         for (Write write : writes)
+         {
+            manager.fireEvent(new FileWritten(write.resource.getUnderlyingResourceObject()));
+         }
+         for (Resource<?> resource : created)
+         {
+            manager.fireEvent(new ResourceCreated(resource, true));
+         }
+         for (Write write : writes)
+         {
+            manager.fireEvent(new ResourceModified(write.resource, true));
+         }
+         manager.fireEvent(new ResourceTransactionCommitted(created, modified));
+      }
+   }
+
+   private static synchronized ExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = Executors.newFixedThreadPool(MAX_THREADS, new ThreadFactory()
+         {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable)
+            {
+               Thread thread = new Thread(runnable, "ResourceTransaction-" + count.incrementAndGet());
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+      return executor;
+   }
+
+   /**
+    * A single staged write, and the scratch and backup files used to apply or undo it.
+    */
+   private static class Write
+   {
+      private final FileResource<?> resource;
+      private final byte[] contents;
+      private final File target;
+      private final boolean existed;
+      private File scratch;
+      private File backup;
+      private File directories;
+      private boolean replaced;
+
+      Write(final FileResource<?> resource, final byte[] contents) throws IOException
+      {
+         this.resource = resource;
+         this.contents = contents;
+         this.target = resource.getWriteTarget();
+         this.existed = target.exists();
+      }
+
+      /*
+       * The original is copied aside, rather than moved, so that the target is never missing while the transaction is
+       * being applied.
+       */
+      void prepare() throws IOException
+      {
+         directories = resource.createWriteDirectory();
+         scratch = resource.createScratchFile();
+         write(new ByteArrayInputStream(contents), scratch);
+         if (existed)
+         {
+            FileResource.copyPermissions(target, scratch);
+            backup = resource.createScratchFile();
+            write(new FileInputStream(target), backup);
+            FileResource.copyPermissions(target, backup);
+         }
+      }
+
+      void replace() throws IOException
+      {
+         moveOver(scratch, target);
+         replaced = true;
+      }
+
+      void restore()
+      {
+         try
+         {
+            if (backup != null)
+            {
+               if (replaced || !target.exists())
+               {
+                  moveOver(backup, target);
+               }
+            }
+            else if (replaced)
+            {
+               target.delete();
+            }
+         }
+         catch (IOException e)
+         {
+            // the backup is left in place, next to the target
+            backup = null;
+         }
+      }
+
+      void cleanup()
+      {
+         if (scratch != null)
+         {
+            scratch.delete();
+         }
+         if (backup != null)
+         {
+            backup.delete();
+         }
+      }
+
+      /**
+       * Remove the directories created for this write, as far as they are empty.
+       */
+      void removeDirectories()
+      {
+         if (directories != null)
+         {
+            File directory = target.getParentFile();
+            while ((directory != null) && directory.delete() && !directory.equals(directories))
+            {
+               directory = directory.getParentFile();
+            }
+         }
+      }
+
+      private static void write(final InputStream in, final File file) throws IOException
+      {
+         OutputStream out = new FileOutputStream(file);
+         try
+         {
+            Streams.write(in, out);
+         }
+         finally
+         {
+            Streams.closeQuietly(in);
+            out.close();
+         }
+      }
+
+      /*
+       * Where the platform cannot replace an existing file by renaming, the existing file is deleted first.
+       */
+      private static void moveOver(final File from, final File to) throws IOException
+      {
+         if (!from.renameTo(to))
+         {
+            to.delete();
+            if (!from.renameTo(to))
+            {
+               throw new IOException("Failed to write file: " + to);
+            }
+         }
+      }
+   }
+}
@@ -7,18 +7,23 @@
 
 package org.jboss.forge.resources.enumtype;
 
+import java.io.FileNotFoundException;
 import java.util.Collections;
 import java.util.List;
 
 import org.jboss.forge.parser.java.EnumConstant;
 import org.jboss.forge.parser.java.JavaEnum;
+import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 import org.jboss.forge.resources.ResourceFlag;
 import org.jboss.forge.resources.VirtualResource;
+import org.jboss.forge.resources.java.JavaResource;
 
 public class EnumConstantResource extends VirtualResource<EnumConstant<JavaEnum>>
 {
    private final EnumConstant<JavaEnum> enumConstant;
+   private EnumConstant<JavaEnum> copy;
 
    public EnumConstantResource(final Resource<?> parent, final EnumConstant<JavaEnum> enumConstant)
    {
@@ -39,10 +44,30 @@ public class EnumConstantResource extends VirtualResource<EnumConstant<JavaEnum>
       return Collections.emptyList();
    }
 
+   /**
+    * Return this constant, from a newly parsed copy of its source which the caller is free to modify; the instance this
+    * resource was listed from may be shared.
+    */
    @Override
-   public EnumConstant<JavaEnum> getUnderlyingResourceObject()
+   public synchronized EnumConstant<JavaEnum> getUnderlyingResourceObject()
    {
-      return enumConstant;
+      if (copy == null)
+      {
+         try
+         {
+            JavaSource<?> source = ((JavaResource) getParent()).getJavaSource();
+            copy = source instanceof JavaEnum ? ((JavaEnum) source).getEnumConstant(getName()) : null;
+         }
+         catch (FileNotFoundException e)
+         {
+            throw new ResourceException(e);
+         }
+         if (copy == null)
+         {
+            throw new ResourceException("No enum constant [" + getName() + "] in " + getParent());
+         }
+      }
+      return copy;
    }
 
    @Override
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources.events;
+
+import java.io.File;
+
+/**
+ * Fired as soon as the shell has written, created, moved or deleted a file. Unlike {@link ResourceEvent}s, this event
+ * is not queued until the end of the command; it is meant for observers that must keep in step with the file system
+ * while a command runs.
+ */
+public class FileWritten
+{
+   private final File file;
+
+   public FileWritten(final File file)
+   {
+      this.file = file;
+   }
+
+   /**
+    * Get the file written; it may no longer exist.
+    */
+   public File getFile()
+   {
+      return file;
+   }
+}
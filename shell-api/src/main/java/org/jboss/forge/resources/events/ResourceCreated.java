@@ -24,4 +24,9 @@ public class ResourceCreated extends ResourceEvent
    {
       super(resource);
    }
+
+   public ResourceCreated(final Resource<?> resource, final boolean committed)
+   {
+      super(resource, committed);
+   }
 }
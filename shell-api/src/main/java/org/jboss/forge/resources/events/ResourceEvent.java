@@ -9,6 +9,7 @@ package org.jboss.forge.resources.events;
 
 import org.jboss.forge.QueuedEvent;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceTransaction;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -18,10 +19,17 @@ import org.jboss.forge.resources.Resource;
 public abstract class ResourceEvent
 {
    private final Resource<?> resource;
+   private final boolean committed;
 
    public ResourceEvent(final Resource<?> resource)
+   {
+      this(resource, false);
+   }
+
+   protected ResourceEvent(final Resource<?> resource, final boolean committed)
    {
       this.resource = resource;
+      this.committed = committed;
    }
 
    public Resource<?> getResource()
@@ -29,6 +37,15 @@ public abstract class ResourceEvent
       return resource;
    }
 
+   /**
+    * Return true if this event was fired for a resource written by a committed {@link ResourceTransaction}, in which
+    * case a {@link ResourceTransactionCommitted} event is also fired for the transaction as a whole.
+    */
+   public boolean isCommitted()
+   {
+      return committed;
+   }
+
    @Override
    public int hashCode()
    {
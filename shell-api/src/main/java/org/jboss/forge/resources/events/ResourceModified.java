@@ -8,19 +8,32 @@
 package org.jboss.forge.resources.events;
 
 import org.jboss.forge.QueuedEvent;
+import org.jboss.forge.bus.event.IndependentEvent;
 import org.jboss.forge.resources.Resource;
 
 /**
- * Fired when a {@link Resource} has been modified.
+ * Fired when a {@link Resource} has been modified. Observers must not depend on other queued events, as this event may
+ * be delivered in the background; modifications of the same resource are delivered in order.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  * 
  */
 @QueuedEvent
-public class ResourceModified extends ResourceEvent
+public class ResourceModified extends ResourceEvent implements IndependentEvent
 {
    public ResourceModified(final Resource<?> resource)
    {
       super(resource);
    }
+
+   public ResourceModified(final Resource<?> resource, final boolean committed)
+   {
+      super(resource, committed);
+   }
+
+   @Override
+   public Object getOrderingKey()
+   {
+      return getResource().getFullyQualifiedName();
+   }
 }
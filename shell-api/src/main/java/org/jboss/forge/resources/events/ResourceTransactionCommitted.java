@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.resources.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.forge.QueuedEvent;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceTransaction;
+
+/**
+ * Fired once when a {@link ResourceTransaction} is committed, after the {@link ResourceCreated} and
+ * {@link ResourceModified} events for each resource written; those events are marked as
+ * {@link ResourceEvent#isCommitted() committed}.
+ */
+@QueuedEvent
+public class ResourceTransactionCommitted
+{
+   private final List<Resource<?>> created;
+   private final List<Resource<?>> modified;
+
+   public ResourceTransactionCommitted(final List<Resource<?>> created, final List<Resource<?>> modified)
+   {
+      this.created = Collections.unmodifiableList(new ArrayList<Resource<?>>(created));
+      this.modified = Collections.unmodifiableList(new ArrayList<Resource<?>>(modified));
+   }
+
+   /**
+    * Get the resources that did not exist before the transaction was committed.
+    */
+   public List<Resource<?>> getCreated()
+   {
+      return created;
+   }
+
+   /**
+    * Get the resources that existed, and whose contents were replaced.
+    */
+   public List<Resource<?>> getModified()
+   {
+      return modified;
+   }
+
+   /**
+    * Get all resources written by the transaction, created and modified.
+    */
+   public List<Resource<?>> getResources()
+   {
+      List<Resource<?>> result = new ArrayList<Resource<?>>(created);
+      result.addAll(modified);
+      return result;
+   }
+}
@@ -27,13 +27,9 @@ import org.jboss.forge.resources.ResourceFlag;
 public class JavaFieldResource extends JavaMemberResource<Field<? extends JavaSource<?>>> implements
          DeletionAware
 {
-   private final Field<? extends JavaSource<?>> field;
-
    public JavaFieldResource(final JavaResource parent, final Field<? extends JavaSource<?>> field)
    {
       super(parent, field);
-      this.field = field;
-
       setFlag(ResourceFlag.Leaf);
    }
 
@@ -50,34 +46,29 @@ public class JavaFieldResource extends JavaMemberResource<Field<? extends JavaSo
    }
 
    @Override
-   public Field<? extends JavaSource<?>> getUnderlyingResourceObject()
-   {
-      return field;
-   }
-
-   @Override
-   public String getName()
+   protected String getName(final Field<? extends JavaSource<?>> field)
    {
       return field.getName() + "::" + field.getType();
    }
 
-   @Override
-   public String toString()
-   {
-      return field.toString();
-   }
-
+   /**
+    * Remove this field from a freshly parsed copy of its source, since the instance this resource was listed from may
+    * be shared.
+    */
    @Override
    @SuppressWarnings({ "unchecked", "rawtypes" })
    public boolean delete() throws UnsupportedOperationException
    {
-      JavaSource<?> origin = field.getOrigin();
-      if (origin instanceof FieldHolder)
+      JavaResource parent = (JavaResource) this.getParent();
+      JavaSource<?> origin = getSourceCopy(parent);
+      Field copy = getMemberIn(origin);
+      if ((copy != null) && (origin instanceof FieldHolder))
       {
-         ((FieldHolder) origin).removeField(field);
-         if (!((FieldHolder) origin).hasField(field))
+         FieldHolder holder = (FieldHolder) origin;
+         holder.removeField(copy);
+         if (!holder.hasField(copy.getName()))
          {
-            ((JavaResource) this.getParent()).setContents(origin.toString());
+            parent.setContents(origin.toString());
             return true;
          }
       }
@@ -100,6 +91,7 @@ public class JavaFieldResource extends JavaMemberResource<Field<? extends JavaSo
    public List<Resource<?>> getOptionalResources()
    {
       List<Resource<?>> result = new ArrayList<Resource<?>>();
+      Field<? extends JavaSource<?>> field = getMember();
       JavaClass entity = (JavaClass) field.getOrigin();
       String methodNameSuffix = Strings.capitalize(field.getName());
       // Condition to remove getField()
@@ -7,21 +7,29 @@
 
 package org.jboss.forge.resources.java;
 
+import java.io.FileNotFoundException;
 import java.util.Collections;
 import java.util.List;
 
+import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Member;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 import org.jboss.forge.resources.ResourceFlag;
 import org.jboss.forge.resources.VirtualResource;
 
 /**
+ * Resources are listed from a {@link JavaSource} that may be shared with other readers of the same file, and must not be
+ * modified; {@link #getUnderlyingResourceObject()} returns the member from a copy of the source parsed for this
+ * resource alone.
+ * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 @SuppressWarnings("rawtypes")
 public abstract class JavaMemberResource<T extends Member> extends VirtualResource<T>
 {
    private final T member;
+   private T copy;
 
    public JavaMemberResource(final Resource<?> parent, final T member)
    {
@@ -42,8 +50,28 @@ public abstract class JavaMemberResource<T extends Member> extends VirtualResour
       return Collections.emptyList();
    }
 
+   /**
+    * Return this member, from a newly parsed copy of its source which the caller is free to modify, and save through
+    * {@link Member#getOrigin()}.
+    */
    @Override
-   public T getUnderlyingResourceObject()
+   public synchronized T getUnderlyingResourceObject()
+   {
+      if (copy == null)
+      {
+         copy = getMemberIn(getSourceCopy((JavaResource) getParent()));
+         if (copy == null)
+         {
+            throw new ResourceException("No member [" + getName() + "] in " + getParent());
+         }
+      }
+      return copy;
+   }
+
+   /**
+    * Return the member this resource was listed from, which may be shared, and must not be modified.
+    */
+   protected T getMember()
    {
       return member;
    }
@@ -51,12 +79,49 @@ public abstract class JavaMemberResource<T extends Member> extends VirtualResour
    @Override
    public String getName()
    {
-      return member.getName();
+      return getName(member);
    }
 
+   /**
+    * Return the name of a resource for the given member, which identifies it among the members of its source.
+    */
+   protected abstract String getName(T member);
+
    @Override
    public String toString()
    {
       return member.toString();
    }
+
+   /**
+    * Return the member of the given source with the same name as this resource, or null.
+    */
+   @SuppressWarnings("unchecked")
+   protected T getMemberIn(final JavaSource<?> source)
+   {
+      String name = getName();
+      for (Member<?, ?> candidate : source.getMembers())
+      {
+         if (member.getClass().isInstance(candidate) && name.equals(getName((T) candidate)))
+         {
+            return (T) candidate;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Return a newly parsed copy of the source of the given {@link JavaResource}, which the caller is free to modify.
+    */
+   protected static JavaSource<?> getSourceCopy(final JavaResource resource)
+   {
+      try
+      {
+         return resource.getJavaSource();
+      }
+      catch (FileNotFoundException e)
+      {
+         throw new ResourceException(e);
+      }
+   }
 }
@@ -24,12 +24,9 @@ import org.jboss.forge.resources.Resource;
 @SuppressWarnings("rawtypes")
 public class JavaMethodResource extends JavaMemberResource<Method>
 {
-   private final Method<? extends JavaSource<?>> method;
-
    public JavaMethodResource(final Resource<?> parent, final Method<? extends JavaSource<?>> method)
    {
       super(parent, method);
-      this.method = method;
    }
 
    @Override
@@ -45,16 +42,11 @@ public class JavaMethodResource extends JavaMemberResource<Method>
    }
 
    @Override
-   public Method<? extends JavaSource<?>> getUnderlyingResourceObject()
-   {
-      return method;
-   }
-
-   @Override
-   public String getName()
+   @SuppressWarnings("unchecked")
+   protected String getName(final Method method)
    {
       List<String> parameterTypes = new ArrayList<String>();
-      for (Parameter<?> p : method.getParameters())
+      for (Parameter<?> p : (List<Parameter<?>>) method.getParameters())
       {
          parameterTypes.add(p.getType());
       }
@@ -63,23 +55,24 @@ public class JavaMethodResource extends JavaMemberResource<Method>
       return String.format("%s(%s)::%s", method.getName(), Strings.join(parameterTypes, ","), returnType);
    }
 
-   @Override
-   public String toString()
-   {
-      return method.toString();
-   }
-
+   /**
+    * Remove this method from a freshly parsed copy of its source, since the instance this resource was listed from may
+    * be shared.
+    */
    @Override
    @SuppressWarnings({ "unchecked" })
    public boolean delete() throws UnsupportedOperationException
    {
-      JavaSource<?> origin = method.getOrigin();
-      if (origin instanceof MethodHolder)
+      JavaResource parent = (JavaResource) this.getParent();
+      JavaSource<?> origin = getSourceCopy(parent);
+      Method copy = getMemberIn(origin);
+      if ((copy != null) && (origin instanceof MethodHolder))
       {
-         ((MethodHolder) origin).removeMethod(method);
-         if (!((MethodHolder) origin).hasMethodSignature(method))
+         MethodHolder holder = (MethodHolder) origin;
+         holder.removeMethod(copy);
+         if (getMemberIn(origin) == null)
          {
-            ((JavaResource) this.getParent()).setContents(origin.toString());
+            parent.setContents(origin.toString());
             return true;
          }
       }
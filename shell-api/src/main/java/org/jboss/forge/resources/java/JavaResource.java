@@ -63,7 +63,7 @@ public class JavaResource extends FileResource<JavaResource>
          if ((name != null) && (child instanceof JavaMemberResource<?>))
          {
             String childName = child.getName();
-            if (((Member<?, ?>) child.getUnderlyingResourceObject()).getName().equals(name.trim())
+            if (((JavaMemberResource<?>) child).getMember().getName().equals(name.trim())
                      || childName.equals(name))
             {
                subset.add(child);
@@ -93,7 +93,8 @@ public class JavaResource extends FileResource<JavaResource>
       {
          List<Resource<?>> list = new LinkedList<Resource<?>>();
 
-         for (Member<?, ?> member : getJavaSource().getMembers())
+         JavaSource<?> source = getCachedJavaSource();
+         for (Member<?, ?> member : source.getMembers())
          {
             if (member instanceof Field)
             {
@@ -109,9 +110,9 @@ public class JavaResource extends FileResource<JavaResource>
             }
          }
 
-         if (getJavaSource() instanceof JavaEnum)
+         if (source instanceof JavaEnum)
          {
-            for (EnumConstant<JavaEnum> e : ((JavaEnum) getJavaSource()).getEnumConstants())
+            for (EnumConstant<JavaEnum> e : ((JavaEnum) source).getEnumConstants())
             {
                list.add(new EnumConstantResource(this, (EnumConstant<JavaEnum>) e));
             }
@@ -137,12 +138,27 @@ public class JavaResource extends FileResource<JavaResource>
 
    /**
     * Attempts to perform cast automatically. This can lead to problems.
+    * <p>
+    * Each invocation returns a newly parsed instance, which the caller is free to modify.
     */
    public JavaSource<?> getJavaSource() throws FileNotFoundException
    {
       return JavaParser.parse(file);
    }
 
+   /**
+    * Return the shared, read-only {@link JavaSource} for this resource, re-parsing the underlying file only if it has
+    * changed since it was last read.
+    */
+   private JavaSource<?> getCachedJavaSource() throws FileNotFoundException
+   {
+      if (resourceFactory == null)
+      {
+         return getJavaSource();
+      }
+      return resourceFactory.getJavaSourceCache().get(file);
+   }
+
    @Override
    public JavaResource createFrom(final File file)
    {
@@ -154,7 +170,7 @@ public class JavaResource extends FileResource<JavaResource>
    {
       try
       {
-         return getJavaSource().getQualifiedName();
+         return getCachedJavaSource().getQualifiedName();
       }
       catch (FileNotFoundException e)
       {
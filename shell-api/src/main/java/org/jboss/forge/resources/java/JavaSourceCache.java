@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources.java;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.JavaSource;
+
+/**
+ * Bounded cache of parsed {@link JavaSource} instances, keyed on the canonical path of the underlying file. An entry is
+ * only considered valid while the file's last-modified time and length are unchanged; entries are additionally dropped
+ * when the file is reported as modified or deleted.
+ * <p>
+ * Cached instances are shared, and must be treated as read-only. Callers that intend to mutate a source should obtain
+ * their own copy through {@link JavaParser}.
+ */
+public class JavaSourceCache
+{
+   public static final int DEFAULT_CAPACITY = 512;
+
+   private final Map<String, CachedSource> entries;
+
+   public JavaSourceCache()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public JavaSourceCache(final int capacity)
+   {
+      this.entries = new LinkedHashMap<String, CachedSource>(16, 0.75f, true)
+      {
+         private static final long serialVersionUID = -2581452651234372510L;
+
+         @Override
+         protected boolean removeEldestEntry(final Entry<String, CachedSource> eldest)
+         {
+            return size() > capacity;
+         }
+      };
+   }
+
+   /**
+    * Return the shared, parsed {@link JavaSource} for the given {@link File}, parsing it only if no up-to-date entry
+    * exists.
+    */
+   public JavaSource<?> get(final File file) throws FileNotFoundException
+   {
+      String key = keyFor(file);
+      long lastModified = file.lastModified();
+      long length = file.length();
+
+      synchronized (entries)
+      {
+         CachedSource cached = entries.get(key);
+         if ((cached != null) && cached.matches(lastModified, length))
+         {
+            return cached.source;
+         }
+      }
+
+      JavaSource<?> source = JavaParser.parse(file);
+      synchronized (entries)
+      {
+         entries.put(key, new CachedSource(source, lastModified, length));
+      }
+      return source;
+   }
+
+   /**
+    * Drop any entry held for the given {@link File}.
+    */
+   public void invalidate(final File file)
+   {
+      synchronized (entries)
+      {
+         entries.remove(keyFor(file));
+      }
+   }
+
+   /**
+    * Drop all entries.
+    */
+   public void clear()
+   {
+      synchronized (entries)
+      {
+         entries.clear();
+      }
+   }
+
+   public int size()
+   {
+      synchronized (entries)
+      {
+         return entries.size();
+      }
+   }
+
+   private static String keyFor(final File file)
+   {
+      try
+      {
+         return file.getCanonicalPath();
+      }
+      catch (IOException e)
+      {
+         return file.getAbsolutePath();
+      }
+   }
+
+   private static class CachedSource
+   {
+      private final JavaSource<?> source;
+      private final long lastModified;
+      private final long length;
+
+      CachedSource(final JavaSource<?> source, final long lastModified, final long length)
+      {
+         this.source = source;
+         this.lastModified = lastModified;
+         this.length = length;
+      }
+
+      boolean matches(final long lastModified, final long length)
+      {
+         return (this.lastModified == lastModified) && (this.length == length);
+      }
+   }
+}
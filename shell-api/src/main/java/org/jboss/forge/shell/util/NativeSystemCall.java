@@ -103,7 +103,7 @@ public class NativeSystemCall
       {
          try
          {
-            byte[] buf = new byte[1024];
+            byte[] buf = new byte[8192];
             int read;
             while ((read = in.read(buf)) != -1)
             {
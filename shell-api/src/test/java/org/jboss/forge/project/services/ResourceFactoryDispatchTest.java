@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.services;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.project.services.ResourceFactory.DispatchTable;
+import org.jboss.forge.project.services.ResourceFactory.ResourceGenerator;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceFactoryDispatchTest
+{
+   private final List<ResourceGenerator> generators = new ArrayList<ResourceGenerator>();
+
+   @Test
+   public void testSuffixAndNameDispatch()
+   {
+      ResourceGenerator pom = add("pom.xml");
+      ResourceGenerator xml = add("*.xml");
+      ResourceGenerator java = add("*.java");
+      DispatchTable table = new DispatchTable(generators);
+
+      Assert.assertSame(pom, table.lookup("pom.xml"));
+      Assert.assertSame(xml, table.lookup("beans.xml"));
+      Assert.assertSame(java, table.lookup("Foo.java"));
+      Assert.assertSame(java, table.lookup("package-info.java"));
+      Assert.assertNull(table.lookup("Foo.class"));
+      Assert.assertNull(table.lookup("Foojava"));
+   }
+
+   @Test
+   public void testFirstRegisteredGeneratorWins()
+   {
+      ResourceGenerator archive = add("*.tar.gz");
+      ResourceGenerator readme = add("README*");
+      ResourceGenerator gz = add("*.gz");
+      ResourceGenerator any = add("*");
+      DispatchTable table = new DispatchTable(generators);
+
+      Assert.assertSame(archive, table.lookup("forge.tar.gz"));
+      Assert.assertSame(gz, table.lookup("forge.gz"));
+      Assert.assertSame(readme, table.lookup("README.gz"));
+      Assert.assertSame(any, table.lookup("LICENSE"));
+      Assert.assertSame(any, table.lookup("LICENSE"));
+   }
+
+   private ResourceGenerator add(final String pathspec)
+   {
+      ResourceGenerator result = new ResourceGenerator(pathspec, new UnknownFileResource(null, new File(pathspec)));
+      generators.add(result);
+      return result;
+   }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import java.io.File;
+import java.util.List;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryResourceTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+   private DirectoryResource directory;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+      new File(root, "b.txt").createNewFile();
+      new File(root, "a").mkdir();
+      new File(root, "C.txt").createNewFile();
+      directory = new DirectoryResource(new ResourceFactory(), root);
+   }
+
+   @Test
+   public void testChildrenAreListedInOrderAndTyped()
+   {
+      List<Resource<?>> children = directory.listResources();
+      Assert.assertEquals(3, children.size());
+      Assert.assertEquals("C.txt", children.get(0).getName());
+      Assert.assertEquals("a", children.get(1).getName());
+      Assert.assertEquals("b.txt", children.get(2).getName());
+      Assert.assertTrue(children.get(1) instanceof DirectoryResource);
+      Assert.assertTrue(children.get(2) instanceof UnknownFileResource);
+      Assert.assertSame(children.get(2), children.get(2));
+   }
+
+   @Test
+   public void testListingIsRefreshedWhenDirectoryChanges() throws Exception
+   {
+      List<Resource<?>> children = directory.listResources();
+      Assert.assertSame(children, directory.listResources());
+
+      new File(root, "d.txt").createNewFile();
+      root.setLastModified(root.lastModified() + 2000);
+
+      children = directory.listResources();
+      Assert.assertEquals(4, children.size());
+      Assert.assertSame(children, directory.listResources());
+   }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.shell.util.OSUtils;
+import org.jboss.forge.shell.util.Streams;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileResourceTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+   private DirectoryResource directory;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+      new File(root, "b.txt").createNewFile();
+      new File(root, "a.txt").createNewFile();
+      directory = new DirectoryResource(new ResourceFactory(), root);
+   }
+
+   @Test
+   public void testFullyQualifiedNameMatchesParentChain()
+   {
+      Resource<?> child = directory.getChild("a.txt");
+      Assert.assertEquals(directory.getFullyQualifiedName() + "/a.txt", child.getFullyQualifiedName());
+
+      String expected = "";
+      for (Resource<?> r = directory; r != null; r = r.getParent())
+      {
+         expected = expected.length() == 0 ? r.getName() : r.getName() + "/" + expected;
+      }
+      Assert.assertEquals(expected, directory.getFullyQualifiedName());
+   }
+
+   @Test
+   public void testChildrenShareParent()
+   {
+      List<Resource<?>> children = directory.listResources();
+      Assert.assertEquals(2, children.size());
+      Assert.assertEquals("a.txt", children.get(0).getName());
+      Assert.assertSame(directory, children.get(0).getParent());
+      Assert.assertSame(directory, children.get(1).getParent());
+
+      Resource<?> detached = new UnknownFileResource(null, new File(root, "a.txt"));
+      Assert.assertEquals(children.get(0), detached);
+      Assert.assertEquals(children.get(0).hashCode(), detached.hashCode());
+      Assert.assertSame(detached.getParent(), detached.getParent());
+   }
+
+   @Test
+   public void testSetContentsReplacesFile() throws Exception
+   {
+      File target = new File(root, "c.txt");
+      UnknownFileResource resource = new UnknownFileResource(null, target);
+      resource.setContents("first");
+      Assert.assertEquals("first", Streams.toString(resource.getResourceInputStream()));
+
+      target.setLastModified(1000);
+      resource.setContents("first");
+      Assert.assertEquals(1000, target.lastModified());
+
+      resource.setContents("second".toCharArray(), Charset.forName("UTF-8"));
+      Assert.assertEquals("second", Streams.toString(resource.getResourceInputStream()));
+
+      UnknownFileResource copy = new UnknownFileResource(null, new File(root, "d.txt"));
+      copy.setContents(target);
+      Assert.assertEquals("second", Streams.toString(copy.getResourceInputStream()));
+      Assert.assertEquals(4, root.listFiles().length);
+   }
+
+   @Test
+   public void testTextIsWrittenAsUtf8() throws Exception
+   {
+      UnknownFileResource resource = new UnknownFileResource(null, new File(root, "text.txt"));
+      resource.setContents("caf\u00e9");
+      ByteArrayOutputStream written = new ByteArrayOutputStream();
+      Streams.write(resource.getResourceInputStream(), written);
+      Assert.assertArrayEquals("caf\u00e9".getBytes("UTF-8"), written.toByteArray());
+   }
+
+   @Test
+   public void testSetContentsKeepsPermissions() throws Exception
+   {
+      File target = new File(root, "run.sh");
+      UnknownFileResource resource = new UnknownFileResource(null, target);
+      resource.setContents("echo first");
+      target.setExecutable(true);
+
+      resource.setContents("echo second");
+      Assert.assertEquals("echo second", Streams.toString(resource.getResourceInputStream()));
+      Assert.assertTrue(target.canExecute());
+   }
+
+   @Test
+   public void testSetContentsWritesThroughSymbolicLink() throws Exception
+   {
+      if (OSUtils.isWindows())
+      {
+         return;
+      }
+      File target = new File(root, "target.txt");
+      File link = new File(root, "link.txt");
+      new UnknownFileResource(null, target).setContents("first");
+      Runtime.getRuntime().exec(new String[] { "ln", "-s", target.getName(), link.getPath() }).waitFor();
+
+      new UnknownFileResource(null, link).setContents("second");
+      Assert.assertEquals(target.getCanonicalPath(), link.getCanonicalPath());
+      Assert.assertEquals("second", Streams.toString(new UnknownFileResource(null, target).getResourceInputStream()));
+      for (File child : root.listFiles())
+      {
+         Assert.assertFalse(FileResource.isScratchFile(child.getName()));
+      }
+   }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+
+import org.jboss.forge.shell.util.OSUtils;
+import org.jboss.forge.shell.util.Streams;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceTransactionTest
+{
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+   }
+
+   @Test
+   public void testContentsAreWrittenOnCommit() throws Exception
+   {
+      UnknownFileResource first = new UnknownFileResource(null, new File(root, "first.txt"));
+      UnknownFileResource second = new UnknownFileResource(null, new File(root, "second.txt"));
+      first.setContents("original");
+
+      ResourceTransaction transaction = new ResourceTransaction();
+      transaction.setContents(first, "changed");
+      transaction.setContents(second, Streams.fromString("created"));
+      Assert.assertEquals("original", Streams.toString(first.getResourceInputStream()));
+      Assert.assertFalse(second.exists());
+
+      transaction.commit();
+      Assert.assertEquals("changed", Streams.toString(first.getResourceInputStream()));
+      Assert.assertEquals("created", Streams.toString(second.getResourceInputStream()));
+      Assert.assertEquals(2, root.listFiles().length);
+      Assert.assertTrue(transaction.getResources().isEmpty());
+   }
+
+   @Test
+   public void testFailedCommitLeavesFilesUntouched() throws Exception
+   {
+      UnknownFileResource first = new UnknownFileResource(null, new File(root, "first.txt"));
+      first.setContents("original");
+      File blocker = new File(root, "blocker");
+      blocker.createNewFile();
+      UnknownFileResource broken = new UnknownFileResource(null, new File(blocker, "broken.txt"));
+
+      ResourceTransaction transaction = new ResourceTransaction();
+      transaction.setContents(first, "changed");
+      transaction.setContents(broken, "never written");
+      try
+      {
+         transaction.commit();
+         Assert.fail("Commit should have failed");
+      }
+      catch (ResourceException e)
+      {
+         // expected
+      }
+
+      Assert.assertEquals("original", Streams.toString(first.getResourceInputStream()));
+      Assert.assertEquals(2, root.listFiles().length);
+   }
+
+   @Test
+   public void testFailedCommitRemovesCreatedDirectories() throws Exception
+   {
+      File blocker = new File(root, "blocker");
+      blocker.createNewFile();
+      UnknownFileResource created = new UnknownFileResource(null, new File(root, "new/nested/created.txt"));
+      UnknownFileResource broken = new UnknownFileResource(null, new File(blocker, "broken.txt"));
+
+      ResourceTransaction transaction = new ResourceTransaction();
+      transaction.setContents(created, "never written");
+      transaction.setContents(broken, "never written");
+      try
+      {
+         transaction.commit();
+         Assert.fail("Commit should have failed");
+      }
+      catch (ResourceException e)
+      {
+         // expected
+      }
+
+      Assert.assertFalse(new File(root, "new").exists());
+      Assert.assertEquals(1, root.listFiles().length);
+   }
+
+   @Test
+   public void testTextIsStagedAsUtf8() throws Exception
+   {
+      UnknownFileResource resource = new UnknownFileResource(null, new File(root, "text.txt"));
+      new ResourceTransaction().setContents(resource, "caf\u00e9").commit();
+      ByteArrayOutputStream written = new ByteArrayOutputStream();
+      Streams.write(resource.getResourceInputStream(), written);
+      Assert.assertArrayEquals("caf\u00e9".getBytes("UTF-8"), written.toByteArray());
+   }
+
+   @Test
+   public void testRollbackDiscardsStagedContents() throws Exception
+   {
+      UnknownFileResource first = new UnknownFileResource(null, new File(root, "first.txt"));
+      ResourceTransaction transaction = new ResourceTransaction();
+      transaction.setContents(first, "staged");
+      Assert.assertEquals(1, transaction.getResources().size());
+
+      transaction.rollback();
+      transaction.commit();
+      Assert.assertFalse(first.exists());
+   }
+
+   @Test
+   public void testCommitKeepsPermissionsAndSymbolicLinks() throws Exception
+   {
+      UnknownFileResource script = new UnknownFileResource(null, new File(root, "run.sh"));
+      script.setContents("echo first");
+      script.getUnderlyingResourceObject().setExecutable(true);
+
+      ResourceTransaction transaction = new ResourceTransaction();
+      transaction.setContents(script, "echo second");
+      transaction.commit();
+      Assert.assertEquals("echo second", Streams.toString(script.getResourceInputStream()));
+      Assert.assertTrue(script.getUnderlyingResourceObject().canExecute());
+
+      if (!OSUtils.isWindows())
+      {
+         File link = new File(root, "link.sh");
+         Runtime.getRuntime().exec(new String[] { "ln", "-s", "run.sh", link.getPath() }).waitFor();
+         transaction.setContents(new UnknownFileResource(null, link), "echo third");
+         transaction.commit();
+         Assert.assertEquals(script.getUnderlyingResourceObject().getCanonicalPath(), link.getCanonicalPath());
+         Assert.assertEquals("echo third", Streams.toString(script.getResourceInputStream()));
+         Assert.assertEquals(2, root.listFiles().length);
+      }
+   }
+}
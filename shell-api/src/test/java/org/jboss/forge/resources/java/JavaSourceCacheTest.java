@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources.java;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.Field;
+import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.parser.java.JavaSource;
+import org.jboss.forge.parser.java.Method;
+import org.jboss.forge.project.services.ResourceFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JavaSourceCacheTest
+{
+   private static final String SOURCE = "package demo; public class Foo { private int a; private int b; "
+            + "public void go() {} public void go(int times) {} }";
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private File root;
+   private File file;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      root = folder.getRoot();
+      file = new File(root, "Foo.java");
+      write(file, SOURCE);
+   }
+
+   @Test
+   public void testUnchangedFileIsParsedOnce() throws Exception
+   {
+      JavaSourceCache cache = new JavaSourceCache();
+      JavaSource<?> source = cache.get(file);
+      Assert.assertSame(source, cache.get(file));
+      Assert.assertSame(source, cache.get(new File(root, "../" + root.getName() + "/Foo.java")));
+      Assert.assertEquals(1, cache.size());
+   }
+
+   @Test
+   public void testChangedOrInvalidatedFileIsParsedAgain() throws Exception
+   {
+      JavaSourceCache cache = new JavaSourceCache();
+      JavaSource<?> source = cache.get(file);
+
+      write(file, SOURCE.replace("private int b;", "private int b; private int c;"));
+      JavaSource<?> changed = cache.get(file);
+      Assert.assertNotSame(source, changed);
+      Assert.assertTrue(((JavaClass) changed).hasField("c"));
+
+      cache.invalidate(file);
+      Assert.assertEquals(0, cache.size());
+      Assert.assertNotSame(changed, cache.get(file));
+   }
+
+   @Test
+   public void testOldestEntriesAreDropped() throws Exception
+   {
+      File other = new File(root, "Bar.java");
+      write(other, SOURCE.replace("Foo", "Bar"));
+
+      JavaSourceCache cache = new JavaSourceCache(1);
+      cache.get(file);
+      cache.get(other);
+      Assert.assertEquals(1, cache.size());
+   }
+
+   @Test
+   public void testDeletingMembersLeavesCachedSourceUntouched() throws Exception
+   {
+      ResourceFactory factory = new ResourceFactory();
+      JavaResource resource = new JavaResource(factory, file);
+      JavaClass cached = (JavaClass) factory.getJavaSourceCache().get(file);
+
+      Assert.assertTrue(resource.getChild("a").delete());
+      Assert.assertTrue(resource.getChild("go(int)::void").delete());
+
+      Assert.assertTrue(cached.hasField("a"));
+      Assert.assertTrue(cached.hasMethodSignature("go", "int"));
+
+      JavaClass written = (JavaClass) JavaParser.parse(file);
+      Assert.assertFalse(written.hasField("a"));
+      Assert.assertTrue(written.hasField("b"));
+      Assert.assertEquals(1, written.getMethods().size());
+      Assert.assertEquals(0, written.getMethods().get(0).getParameters().size());
+      Assert.assertNull(resource.getChild("a"));
+   }
+
+   @Test
+   @SuppressWarnings("unchecked")
+   public void testMutatingMembersLeavesCachedSourceUntouched() throws Exception
+   {
+      ResourceFactory factory = new ResourceFactory();
+      JavaResource resource = new JavaResource(factory, file);
+      JavaMethodResource child = (JavaMethodResource) resource.getChild("go()::void");
+
+      Method<? extends JavaSource<?>> method = child.getUnderlyingResourceObject();
+      method.addAnnotation(Deprecated.class);
+      ((Field<JavaClass>) resource.getChild("a").getUnderlyingResourceObject()).setName("renamed");
+
+      JavaClass cached = (JavaClass) factory.getJavaSourceCache().get(file);
+      Assert.assertFalse(cached.getMethod("go").hasAnnotation(Deprecated.class));
+      Assert.assertTrue(cached.hasField("a"));
+      Assert.assertNotNull(resource.getChild("a"));
+      Assert.assertFalse(((Method<?>) resource.getChild("go()::void").getUnderlyingResourceObject())
+               .hasAnnotation(Deprecated.class));
+
+      resource.setContents(method.getOrigin());
+      Assert.assertTrue(((JavaClass) JavaParser.parse(file)).getMethod("go").hasAnnotation(Deprecated.class));
+      Assert.assertTrue(((JavaClass) factory.getJavaSourceCache().get(file)).getMethod("go").hasAnnotation(
+               Deprecated.class));
+   }
+
+   private static void write(final File file, final String contents) throws IOException
+   {
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(contents);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+}
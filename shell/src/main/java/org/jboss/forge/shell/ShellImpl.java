@@ -46,6 +46,7 @@ import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.shell.buffers.ConsoleInputSession;
 import org.jboss.forge.shell.buffers.JLineScreenBuffer;
 import org.jboss.forge.shell.command.CommandMetadata;
+import org.jboss.forge.shell.command.EventBusInvoker;
 import org.jboss.forge.shell.command.PluginMetadata;
 import org.jboss.forge.shell.command.PromptTypeConverter;
 import org.jboss.forge.shell.command.convert.BooleanConverter;
@@ -76,11 +77,13 @@ import org.jboss.forge.shell.integration.BufferManager;
 import org.jboss.forge.shell.integration.KeyListener;
 import org.jboss.forge.shell.plugins.builtin.Echo;
 import org.jboss.forge.shell.project.CurrentProject;
+import org.jboss.forge.shell.resources.ResourceWatcher;
 import org.jboss.forge.shell.spi.CommandInterceptor;
 import org.jboss.forge.shell.spi.TriggeredAction;
 import org.jboss.forge.shell.util.Booleans;
 import org.jboss.forge.shell.util.Files;
 import org.jboss.forge.shell.util.GeneralUtils;
+import org.jboss.forge.shell.util.HistoryWriter;
 import org.jboss.forge.shell.util.JavaPathspecParser;
 import org.jboss.forge.shell.util.OSUtils;
 import org.jboss.forge.shell.util.ResourceUtil;
@@ -107,6 +110,8 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    public static final String PROP_VERBOSE = "VERBOSE";
    public static final String PROP_HISTORY = "HISTORY";
    public static final String PROP_EXCEPTION_HANDLING = "EXCEPTION_HANDLING";
+   public static final String PROP_ASYNC_EVENTS = "ASYNC_EVENTS";
+   public static final String PROP_STREAMING_PIPES = "STREAMING_PIPES";
    public static final String PROP_FORGE_VERSION = "FORGE_VERSION";
    static final String NO_INIT_SYSTEM_PROPERTY = "forge.debug.no_auto_init_streams";
    static final String FORGE_HOME_SYSTEM_PROPERTY = "forge.home";
@@ -154,7 +159,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
 
    private ConsoleInputSession inputPipe;
    private OutputStream outputStream;
-   private OutputStream historyOutstream;
+   private HistoryWriter historyWriter;
 
    private BufferManager screenBuffer;
 
@@ -243,6 +248,12 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Inject
    private IgnoreEofKeyListener ignoreEOF;
 
+   @Inject
+   private ResourceWatcher resourceWatcher;
+
+   @Inject
+   private EventBusInvoker eventBusInvoker;
+
    void init(@Observes final Startup event, final PluginCommandCompleter pluginCompleter) throws Exception
    {
       BooleanConverter booleanConverter = new BooleanConverter();
@@ -393,12 +404,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       {
          try
          {
-            for (int i = 0; i < command.length(); i++)
-            {
-               historyOutstream.write(command.charAt(i));
-            }
-            historyOutstream.write(OSUtils.getLineSeparator().getBytes());
-            historyOutstream.flush();
+            historyWriter.write(command);
          }
          catch (IOException e)
          {
@@ -435,7 +441,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public void setHistoryOutputStream(final OutputStream stream)
    {
-      historyOutstream = stream;
+      historyWriter = new HistoryWriter(stream);
       Runtime.getRuntime().addShutdownHook(new Thread()
       {
          @Override
@@ -443,8 +449,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
          {
             try
             {
-               historyOutstream.flush();
-               historyOutstream.close();
+               historyWriter.close();
             }
             catch (Exception e)
             {
@@ -529,6 +534,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
          terminal = TerminalFactory.get();
       }
 
+      closeScreenBuffer();
       this.screenBuffer = new JLineScreenBuffer(terminal, outputStream);
       this.reader = new ConsoleReader(_redirectedStream == null ? inputPipe.getExternalInputStream()
                : _redirectedStream, this, null, terminal);
@@ -599,6 +605,8 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
                if (!"".equals(line.trim()))
                {
                   writeToHistory(line);
+                  resourceWatcher.publishChanges();
+                  eventBusInvoker.awaitDispatch();
                   execute(line);
                   flush();
                }
@@ -849,24 +857,13 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public void execute(final File file) throws Exception
    {
-      StringBuilder buf = new StringBuilder();
       InputStream instream = new BufferedInputStream(new FileInputStream(file));
       try
       {
-         byte[] b = new byte[25];
-         int read;
-
-         while ((read = instream.read(b)) != -1)
-         {
-            for (int i = 0; i < read; i++)
-            {
-               buf.append((char) b[i]);
-            }
-         }
-
+         String script = Streams.toString(instream);
          instream.close();
 
-         execute(buf.toString());
+         execute(script);
       }
       finally
       {
@@ -1058,7 +1055,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    }
 
    @Override
-   public synchronized void write(final byte b)
+   public void write(final byte b)
    {
       screenBuffer.write(b);
    }
@@ -1504,9 +1501,21 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
    @Override
    public void registerBufferManager(final BufferManager manager)
    {
+      if (manager != screenBuffer)
+      {
+         closeScreenBuffer();
+      }
       screenBuffer = manager;
    }
 
+   private void closeScreenBuffer()
+   {
+      if (screenBuffer instanceof JLineScreenBuffer)
+      {
+         ((JLineScreenBuffer) screenBuffer).close();
+      }
+   }
+
    @Override
    public BufferManager getBufferManager()
    {
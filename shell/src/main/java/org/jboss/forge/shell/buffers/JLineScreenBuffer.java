@@ -9,35 +9,89 @@ package org.jboss.forge.shell.buffers;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import org.jboss.forge.shell.console.jline.Terminal;
 import org.jboss.forge.shell.integration.BufferManager;
 
 /**
  * A buffer to wrap JLine.
+ * <p>
+ * Output is handed, in whole chunks, to a single writer thread, which writes to the terminal and flushes it whenever
+ * it has caught up. Callers never block on the terminal unless more than {@link #MAX_PENDING_BYTES} are waiting to be
+ * written, or they ask for the buffer to be flushed. Output written a byte at a time is handed over a line at a time.
  * 
  * @author Mike Brock
  */
 public class JLineScreenBuffer implements BufferManager
 {
-   //
-   private OutputStream outputStream;
-   private Terminal terminal;
+   public static final int MAX_PENDING_BYTES = 1024 * 1024;
+   public static final long CLOSE_TIMEOUT = 2000;
+
+   private final OutputStream outputStream;
+   private final Terminal terminal;
    private boolean directWrite = true;
 
-   private int maxBufferSize = 1024 * 10;
-   private ByteBuffer buffer;
-   private int bufferSize = 0;
+   private final int maxBufferSize = 1024 * 10;
+   private final ByteBuffer buffer;
+
+   private final Queue<byte[]> pending = new ConcurrentLinkedQueue<byte[]>();
+   private final AtomicLong enqueued = new AtomicLong();
+   private final Object progress = new Object();
+   private volatile long written = 0;
+   private volatile long flushed = 0;
+   private volatile IOException failure;
+   private volatile boolean closed = false;
+   private volatile Thread writer;
+   private Thread shutdownHook;
 
    public JLineScreenBuffer(Terminal terminal, OutputStream outputStream)
    {
       this.terminal = terminal;
       this.outputStream = outputStream;
-      this.buffer = ByteBuffer.allocateDirect(maxBufferSize);
+      this.buffer = ByteBuffer.allocate(maxBufferSize);
+   }
+
+   /**
+    * Write out everything buffered or pending, waiting at most {@link #CLOSE_TIMEOUT} milliseconds, and stop the writer
+    * thread. Output written after closing goes straight to the underlying stream.
+    */
+   public void close()
+   {
+      Thread stopped;
+      synchronized (this)
+      {
+         if (closed)
+         {
+            return;
+         }
+         drainBuffer();
+         closed = true;
+         stopped = writer;
+      }
+
+      if (stopped != null)
+      {
+         LockSupport.unpark(stopped);
+         awaitFlushed(enqueued.get(), CLOSE_TIMEOUT);
+         stopped.interrupt();
+         try
+         {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+         }
+         catch (IllegalStateException e)
+         {
+            // already shutting down
+         }
+      }
    }
 
    @Override
-   public void bufferOnlyMode()
+   public synchronized void bufferOnlyMode()
    {
       directWrite = false;
    }
@@ -49,152 +103,270 @@ public class JLineScreenBuffer implements BufferManager
       flushBuffer();
    }
 
+   /**
+    * Write out everything buffered or pending, and wait until the terminal has been flushed.
+    */
    @Override
    public synchronized void flushBuffer()
    {
-      try
-      {
-         byte[] buf = new byte[2048];
-         buffer.rewind();
-
-         do
-         {
-            int i = 0;
-            for (; i < buf.length && bufferSize > 0; i++)
-            {
-               buf[i] = buffer.get();
-               bufferSize--;
-            }
+      drainBuffer();
+      awaitFlushed(enqueued.get(), 0);
 
-            outputStream.write(buf, 0, i);
-         }
-         while (bufferSize > 0);
-
-         bufferSize = 0;
-         buffer.clear();
-         outputStream.flush();
-      }
-      catch (IOException e)
+      IOException e = failure;
+      if (e != null)
       {
+         failure = null;
          throw new RuntimeException("could not flush", e);
       }
    }
 
    @Override
-   public synchronized void write(int b)
+   public void write(int b)
    {
-      if (bufferSize + 1 >= maxBufferSize)
-      {
-         flushBuffer();
-      }
-
-      buffer.put((byte) b);
-      bufferSize++;
-      _flush();
+      write((byte) b);
    }
 
+   /*
+    * Single bytes are collected in the buffer, even in direct write mode, and handed to the writer a line at a time.
+    */
    @Override
    public synchronized void write(byte b)
    {
-      if (bufferSize + 1 >= maxBufferSize)
+      if (closed)
       {
-         flushBuffer();
+         append(new byte[] { b }, 0, 1, true);
+         return;
       }
 
+      if (!buffer.hasRemaining())
+      {
+         drainBuffer();
+      }
       buffer.put(b);
-      bufferSize++;
-      _flush();
+      if (directWrite && (b == '\n'))
+      {
+         drainBuffer();
+      }
    }
 
    @Override
    public synchronized void write(byte[] b)
    {
-      if (bufferSize + b.length >= maxBufferSize)
-      {
-         flushBuffer();
-         write(b);
-      }
-
-      buffer.put(b, 0, b.length);
-      bufferSize += b.length;
-      _flush();
+      append(b, 0, b.length, false);
    }
 
    @Override
    public synchronized void write(byte[] b, int offset, int length)
    {
-      if (bufferSize + length >= maxBufferSize)
-      {
-         flushBuffer();
-         write(b, offset, length);
-      }
-
-      buffer.put(b, offset, length);
-      bufferSize += length;
-      _flush();
+      append(b, offset, length, false);
    }
 
    @Override
    public synchronized void write(String s)
    {
-      if (bufferSize + s.length() >= maxBufferSize)
+      byte[] bytes = s.getBytes();
+      append(bytes, 0, bytes.length, true);
+   }
+
+   /*
+    * Arrays we do not own may be reused by the caller once we return, so must be copied before they are queued.
+    */
+   private void append(byte[] b, int offset, int length, boolean owned)
+   {
+      if (length == 0)
       {
-         flushBuffer();
-         write(s);
+         return;
       }
 
-      buffer.put(s.getBytes());
-      bufferSize += s.length();
-      _flush();
+      if (!directWrite && (length <= buffer.remaining()))
+      {
+         buffer.put(b, offset, length);
+         return;
+      }
+
+      drainBuffer();
+      if (!directWrite && (length <= buffer.remaining()))
+      {
+         buffer.put(b, offset, length);
+      }
+      else if (owned && (offset == 0) && (length == b.length))
+      {
+         enqueue(b);
+      }
+      else
+      {
+         enqueue(Arrays.copyOfRange(b, offset, offset + length));
+      }
    }
 
-   /**
-    * For data that exceeds the maximum size of the buffer, write out the data in segments.
-    * 
-    * @param b
-    * @param offset
-    * @param length
+   private void drainBuffer()
+   {
+      if (buffer.position() > 0)
+      {
+         enqueue(Arrays.copyOf(buffer.array(), buffer.position()));
+         buffer.clear();
+      }
+   }
+
+   /*
+    * Only called while holding the lock on this buffer, so chunks are queued in the order they are counted.
     */
-   @SuppressWarnings("unused")
-   private void segmentedWrite(byte[] b, int offset, int length)
+   private void enqueue(byte[] chunk)
    {
-      if (b.length > maxBufferSize)
+      if (closed)
       {
+         try
+         {
+            outputStream.write(chunk);
+            outputStream.flush();
+         }
+         catch (IOException e)
+         {
+            throw new RuntimeException("could not write", e);
+         }
+         return;
+      }
+
+      if (writer == null)
+      {
+         startWriter();
+      }
+
+      long total = enqueued.addAndGet(chunk.length);
+      pending.add(chunk);
+      LockSupport.unpark(writer);
 
-         int segs = b.length / maxBufferSize;
-         int tail = b.length % maxBufferSize;
-         for (int i = 0; i < segs; i++)
+      if ((total - written) > MAX_PENDING_BYTES)
+      {
+         synchronized (progress)
          {
-            write(b, (i + offset) * maxBufferSize, maxBufferSize);
+            while ((total - written) > MAX_PENDING_BYTES)
+            {
+               try
+               {
+                  progress.wait();
+               }
+               catch (InterruptedException e)
+               {
+                  Thread.currentThread().interrupt();
+                  return;
+               }
+            }
          }
-         write(b, (segs + 1) * maxBufferSize, tail);
       }
-      else
+   }
+
+   /*
+    * Wait until the given number of bytes have been flushed, or until the timeout, if not zero, has elapsed.
+    */
+   private void awaitFlushed(long target, long timeout)
+   {
+      long deadline = System.currentTimeMillis() + timeout;
+      synchronized (progress)
       {
-         write(b, offset, length);
+         while ((flushed < target) && writer.isAlive())
+         {
+            long remaining = deadline - System.currentTimeMillis();
+            if ((timeout > 0) && (remaining <= 0))
+            {
+               return;
+            }
+            try
+            {
+               progress.wait(timeout > 0 ? remaining : 0);
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+               return;
+            }
+         }
       }
    }
 
-   private void _flush()
+   private void startWriter()
    {
-      if (directWrite)
-         flushBuffer();
+      writer = new Thread(new Runnable()
+      {
+         @Override
+         public void run()
+         {
+            writeLoop();
+         }
+      }, "ScreenBuffer");
+      writer.setDaemon(true);
+      writer.start();
+
+      shutdownHook = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            awaitFlushed(enqueued.get(), CLOSE_TIMEOUT);
+         }
+      };
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
    }
 
-   @Override
-   public void directWrite(String s)
+   private void writeLoop()
    {
-      try
+      while (true)
       {
-         outputStream.write(s.getBytes());
-         outputStream.flush();
+         byte[] chunk = pending.poll();
+         if (chunk != null)
+         {
+            try
+            {
+               outputStream.write(chunk);
+            }
+            catch (IOException e)
+            {
+               failure = e;
+            }
+            written += chunk.length;
+            signal();
+         }
+         else
+         {
+            if (flushed != written)
+            {
+               try
+               {
+                  outputStream.flush();
+               }
+               catch (IOException e)
+               {
+                  failure = e;
+               }
+               flushed = written;
+               signal();
+            }
+            if (closed)
+            {
+               signal();
+               return;
+            }
+            LockSupport.park(this);
+         }
       }
-      catch (IOException e)
+   }
+
+   private void signal()
+   {
+      synchronized (progress)
       {
-         throw new RuntimeException("could not write", e);
+         progress.notifyAll();
       }
    }
 
+   @Override
+   public synchronized void directWrite(String s)
+   {
+      drainBuffer();
+      enqueue(s.getBytes());
+      awaitFlushed(enqueued.get(), 0);
+   }
+
    public void setBufferPosition(int row, int col)
    {
       // try
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.shell.util.PrefixTrie;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -30,6 +31,8 @@ public class CommandMetadataImpl implements CommandMetadata
    private String name = "";
    private String help = "";
    private List<OptionMetadata> options = new ArrayList<OptionMetadata>();
+   private PrefixTrie<OptionMetadata> namedOptions = PrefixTrie.empty();
+   private PrefixTrie<OptionMetadata> shortOptions = PrefixTrie.empty();
 
    @SuppressWarnings("rawtypes")
    private Set<Class<? extends Resource>> resourceScopes = Collections.emptySet();
@@ -37,12 +40,14 @@ public class CommandMetadataImpl implements CommandMetadata
    @Override
    public OptionMetadata getNamedOption(final String name) throws IllegalArgumentException
    {
-      for (OptionMetadata option : options)
+      OptionMetadata option = namedOptions.get(name);
+      if (option == null)
       {
-         if (option.isNamed() && (option.getName().equals(name) || option.getShortName().equals(name)))
-         {
-            return option;
-         }
+         option = shortOptions.get(name);
+      }
+      if (option != null)
+      {
+         return option;
       }
       throw new IllegalArgumentException("No such option [" + name + "] for command: " + this);
    }
@@ -184,6 +189,17 @@ public class CommandMetadataImpl implements CommandMetadata
    public void addOption(final OptionMetadata option)
    {
       this.options.add(option);
+      if (option.isNamed())
+      {
+         if (namedOptions.get(option.getName()) == null)
+         {
+            namedOptions = namedOptions.with(option.getName(), option);
+         }
+         if (!option.getShortName().isEmpty() && (shortOptions.get(option.getShortName()) == null))
+         {
+            shortOptions = shortOptions.with(option.getShortName(), option);
+         }
+      }
    }
 
    @Override
@@ -223,30 +239,13 @@ public class CommandMetadataImpl implements CommandMetadata
    @Override
    public boolean hasShortOption(final String name)
    {
-      for (OptionMetadata option : options)
-      {
-         if (option.isNamed() && option.getShortName().equals(name))
-         {
-            return true;
-         }
-      }
-      return false;
+      return shortOptions.get(name) != null;
    }
 
    @Override
    public boolean hasOption(final String name)
    {
-      for (OptionMetadata option : options)
-      {
-         if (option.isNamed() &&
-                  (option.getName().equals(name)
-                  || ((option.getShortName().equals(name))
-                  && !option.getShortName().isEmpty())))
-         {
-            return true;
-         }
-      }
-      return false;
+      return (namedOptions.get(name) != null) || (shortOptions.get(name) != null);
    }
 
    @Override
@@ -9,7 +9,13 @@ package org.jboss.forge.shell.command;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
+import org.jboss.forge.ForgeEnvironment;
 import org.jboss.forge.bus.EventBus;
+import org.jboss.forge.bus.EventBusQueuedException;
+import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.ShellImpl;
+import org.jboss.forge.shell.ShellMessages;
+import org.jboss.forge.shell.command.fshparser.FSHRuntime;
 import org.jboss.forge.shell.events.CommandExecuted;
 
 /**
@@ -21,9 +27,51 @@ public class EventBusInvoker
    @Inject
    private EventBus bus;
 
+   @Inject
+   private ForgeEnvironment environment;
+
+   @Inject
+   private Shell shell;
+
    @SuppressWarnings("unused")
    private void fire(@Observes final CommandExecuted event)
    {
+      if (!FSHRuntime.isStreamingPipeline())
+      {
+         fireAll();
+      }
+   }
+
+   /**
+    * Fire all queued events. Those delivered in the background may still be running on return; see
+    * {@link #awaitDispatch()}.
+    */
+   public void fireAll()
+   {
+      bus.setAsync(Boolean.parseBoolean(String.valueOf(environment.getProperty(ShellImpl.PROP_ASYNC_EVENTS))));
       bus.fireAll();
    }
+
+   /**
+    * Wait for events fired so far to be delivered. Observer failures are reported, rather than thrown, so that they do
+    * not fail whichever command happens to run next.
+    */
+   public void awaitDispatch()
+   {
+      try
+      {
+         bus.awaitDispatch();
+      }
+      catch (EventBusQueuedException e)
+      {
+         for (Exception failure : e.getQueuedExceptions())
+         {
+            ShellMessages.error(shell, "Event observer failed: " + failure.getMessage());
+            if (shell.isVerbose())
+            {
+               failure.printStackTrace();
+            }
+         }
+      }
+   }
 }
@@ -6,8 +6,8 @@
  */
 package org.jboss.forge.shell.command;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +35,7 @@ import org.jboss.forge.shell.exceptions.PluginExecutionException;
 import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.util.Enums;
 import org.jboss.forge.shell.util.GeneralUtils;
+import org.jboss.forge.shell.util.Streams;
 import org.mvel2.util.ParseTools;
 
 /**
@@ -57,8 +58,23 @@ public class ExecutionParser
       this.promptTypeConverter = promptTypeConverter;
    }
 
-   @SuppressWarnings({ "unchecked", "rawtypes" })
    public Execution parse(final Queue<String> tokens, final String pipeIn, final PipeOut pipeOut)
+   {
+      return parse(tokens, pipeIn, null, pipeOut);
+   }
+
+   /**
+    * Parse the given tokens into an {@link Execution} whose <code>@PipeIn</code> option reads from the given stream, as it is
+    * written by the previous command in the pipeline.
+    */
+   public Execution parse(final Queue<String> tokens, final InputStream pipeIn, final PipeOut pipeOut)
+   {
+      return parse(tokens, null, pipeIn, pipeOut);
+   }
+
+   @SuppressWarnings({ "unchecked", "rawtypes" })
+   private Execution parse(final Queue<String> tokens, final String pipeIn, final InputStream pipeInStream,
+            final PipeOut pipeOut)
    {
       Execution execution = executionInstance.get();
       // execution.setOriginalStatement(line);
@@ -112,7 +128,7 @@ public class ExecutionParser
 
                // parse parameters and set order / nulls for command invocation
 
-               Object[] parameters = parseParameters(command, tokens, pipeIn, pipeOut);
+               Object[] parameters = parseParameters(command, tokens, pipeIn, pipeInStream, pipeOut);
                execution.setParameterArray(parameters);
             }
             else
@@ -144,7 +160,7 @@ public class ExecutionParser
 
    @SuppressWarnings({ "rawtypes", "unchecked" })
    private Object[] parseParameters(final CommandMetadata command, final Queue<String> tokens, final String pipeIn,
-            final PipeOut pipeOut)
+            final InputStream pipeInStream, final PipeOut pipeOut)
    {
       CommandParser commandParser = new CompositeCommandParser(new NamedBooleanOptionParser(),
                new NamedValueOptionParser(), new NamedValueVarargsOptionParser(), new OrderedValueOptionParser(),
@@ -175,26 +191,7 @@ public class ExecutionParser
          }
          else if (option.isPipeIn())
          {
-            value = pipeIn;
-
-            if (pipeIn != null)
-            {
-               if (InputStream.class.isAssignableFrom(option.getBoxedType()))
-               {
-                  value = new InputStream()
-                  {
-                     int cursor = 0;
-                     int len = pipeIn.length();
-
-                     @Override
-                     public int read() throws IOException
-                     {
-                        return cursor != len ? pipeIn.charAt(cursor++) : -1;
-                     }
-                  };
-               }
-            }
-
+            value = getPipeIn(option, pipeIn, pipeInStream);
          }
          else
          {
@@ -270,6 +267,28 @@ public class ExecutionParser
       return parameters;
    }
 
+   /**
+    * Return the input piped to the given option, as a stream if it takes one, or else as a string.
+    */
+   private Object getPipeIn(final OptionMetadata option, final String pipeIn, final InputStream pipeInStream)
+   {
+      if (InputStream.class.isAssignableFrom(option.getBoxedType()))
+      {
+         if ((pipeInStream == null) && (pipeIn != null))
+         {
+            return Streams.fromString(pipeIn);
+         }
+         return pipeInStream;
+      }
+      else if (pipeInStream != null)
+      {
+         ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+         Streams.write(pipeInStream, buffer);
+         return buffer.toString();
+      }
+      return pipeIn;
+   }
+
    private Object doPromptTypeConversions(Object value, final PromptType promptType)
    {
       if ((value != null) && value.getClass().isArray())
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.completer.PluginCommandCompleter;
+
+/**
+ * Plugin lookups that use the indexes and caches of {@link PluginRegistryImpl} when available, and fall back to the
+ * {@link PluginRegistry} and {@link PluginMetadata} interfaces for other implementations.
+ */
+public abstract class PluginLookup
+{
+   /**
+    * Return true if the given plugin's constraints are satisfied in the current scope and project, or if its setup
+    * command is available.
+    */
+   public static boolean isAvailable(final PluginRegistry registry, final PluginMetadata plugin, final Shell shell)
+   {
+      if (registry instanceof PluginRegistryImpl)
+      {
+         return ((PluginRegistryImpl) registry).isAvailable(plugin, shell);
+      }
+      return plugin.constrantsSatisfied(shell) || plugin.isSetupAvailable(shell);
+   }
+
+   /**
+    * Get the {@link PluginMetadata} of every plugin whose name starts with the given prefix, ignoring case.
+    */
+   public static List<PluginMetadata> getPluginMetadataByPrefix(final PluginRegistry registry, final String prefix)
+   {
+      if (registry instanceof PluginRegistryImpl)
+      {
+         return ((PluginRegistryImpl) registry).getPluginMetadataByPrefix(prefix);
+      }
+
+      List<PluginMetadata> result = new ArrayList<PluginMetadata>();
+      for (List<PluginMetadata> list : registry.getPlugins().values())
+      {
+         for (PluginMetadata plugin : list)
+         {
+            if (PluginCommandCompleter.isPotentialMatch(plugin.getName(), prefix))
+            {
+               result.add(plugin);
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * For the {@link Shell#getCurrentResource()} scope, return the available commands defined by the given plugin whose
+    * names start with the given prefix, ignoring case.
+    */
+   public static List<CommandMetadata> getCommandsByPrefix(final PluginMetadata plugin, final String prefix,
+            final Shell shell)
+   {
+      if (plugin instanceof PluginMetadataImpl)
+      {
+         return ((PluginMetadataImpl) plugin).getCommandsByPrefix(prefix, shell);
+      }
+
+      List<CommandMetadata> result = new ArrayList<CommandMetadata>();
+      for (CommandMetadata command : plugin.getCommands(shell))
+      {
+         if (PluginCommandCompleter.isPotentialMatch(command.getName(), prefix))
+         {
+            result.add(command);
+         }
+      }
+      return result;
+   }
+}
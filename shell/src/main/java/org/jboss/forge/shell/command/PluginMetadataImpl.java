@@ -20,6 +20,7 @@ import org.jboss.forge.shell.constraint.ConstraintEnforcer;
 import org.jboss.forge.shell.constraint.ConstraintException;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.util.ConstraintInspector;
+import org.jboss.forge.shell.util.PrefixTrie;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -37,6 +38,8 @@ public class PluginMetadataImpl implements PluginMetadata
    private final Map<String, List<CommandMetadata>> commandMap = new HashMap<String, List<CommandMetadata>>();
    private final Map<String, Map<Class<? extends Resource<?>>, CommandMetadata>> commandAccessCache = new HashMap<String, Map<Class<? extends Resource<?>>, CommandMetadata>>();
 
+   private PrefixTrie<List<CommandMetadata>> commandTrie = PrefixTrie.empty();
+
    private CommandMetadata defaultCommand;
    private CommandMetadata setupCommand;
 
@@ -181,6 +184,8 @@ public class PluginMetadataImpl implements PluginMetadata
       }
 
       commandMap.get(command.getName()).add(command);
+      commandTrie = commandTrie.with(command.getName(),
+               Collections.unmodifiableList(new ArrayList<CommandMetadata>(commandMap.get(command.getName()))));
    }
 
    @Override
@@ -216,6 +221,27 @@ public class PluginMetadataImpl implements PluginMetadata
       return Collections.unmodifiableList(result);
    }
 
+   /**
+    * For the {@link Shell#getCurrentResource()} scope, return the available commands defined by this plugin whose names
+    * start with the given prefix, ignoring case, ordered by name.
+    */
+   public List<CommandMetadata> getCommandsByPrefix(final String prefix, final Shell shell)
+   {
+      Class<? extends Resource<?>> scope = shell.getCurrentResourceScope();
+      List<CommandMetadata> result = new ArrayList<CommandMetadata>();
+      for (List<CommandMetadata> cl : commandTrie.getByPrefix(prefix))
+      {
+         for (CommandMetadata c : cl)
+         {
+            if (c.usableWithResource(scope))
+            {
+               result.add(c);
+            }
+         }
+      }
+      return Collections.unmodifiableList(result);
+   }
+
    @Override
    public List<CommandMetadata> getAllCommands()
    {
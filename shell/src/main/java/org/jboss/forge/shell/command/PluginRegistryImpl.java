@@ -15,20 +15,32 @@ import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.jboss.forge.project.Facet;
+import org.jboss.forge.project.Project;
+import org.jboss.forge.project.facets.events.FacetInstalled;
+import org.jboss.forge.project.facets.events.FacetRemoved;
 import org.jboss.forge.project.packaging.PackagingType;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
 import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.events.ProjectChanged;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.plugins.RequiresResource;
+import org.jboss.forge.shell.util.PrefixTrie;
 
 /**
  * Stores the current registry of all installed & loaded plugins.
+ * <p>
+ * Constraint results are memoized per plugin and resource scope for the current {@link Project}, since evaluating them
+ * may read the project POM. They are discarded when the project changes, when a {@link Facet} is installed or removed,
+ * or when a POM is modified.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
@@ -36,7 +48,10 @@ import org.jboss.forge.shell.plugins.RequiresResource;
 public class PluginRegistryImpl implements PluginRegistry
 {
    private Map<String, List<PluginMetadata>> plugins;
+   private volatile PrefixTrie<List<PluginMetadata>> pluginTrie;
    private Map<String, Map<Class<?>, PluginMetadata>> accessCache;
+   private Map<PluginMetadata, Map<Class<?>, Boolean>> availabilityCache;
+   private Project cachedProject;
 
    private final CommandLibraryExtension library;
    private final BeanManager manager;
@@ -52,10 +67,78 @@ public class PluginRegistryImpl implements PluginRegistry
    public void init()
    {
       plugins = library.getPlugins();
+      pluginTrie = PrefixTrie.empty();
+      for (Map.Entry<String, List<PluginMetadata>> entry : plugins.entrySet())
+      {
+         pluginTrie = pluginTrie.with(entry.getKey(), snapshot(entry.getValue()));
+      }
       accessCache = new HashMap<String, Map<Class<?>, PluginMetadata>>();
+      availabilityCache = new HashMap<PluginMetadata, Map<Class<?>, Boolean>>();
       sanityCheck();
    }
 
+   public void projectChanged(@Observes final ProjectChanged event)
+   {
+      invalidate();
+   }
+
+   public void facetInstalled(@Observes final FacetInstalled event)
+   {
+      invalidate();
+   }
+
+   public void facetRemoved(@Observes final FacetRemoved event)
+   {
+      invalidate();
+   }
+
+   public void resourceChanged(@Observes final ResourceEvent event)
+   {
+      if (isPOM(event.getResource()))
+      {
+         invalidate();
+      }
+   }
+
+   public void resourcesCommitted(@Observes final ResourceTransactionCommitted event)
+   {
+      for (Resource<?> resource : event.getResources())
+      {
+         if (isPOM(resource))
+         {
+            invalidate();
+            return;
+         }
+      }
+   }
+
+   private static boolean isPOM(final Resource<?> resource)
+   {
+      return "pom.xml".equals(resource.getName());
+   }
+
+   /**
+    * Discard all memoized constraint results.
+    */
+   public synchronized void invalidate()
+   {
+      accessCache.clear();
+      availabilityCache.clear();
+   }
+
+   /*
+    * Results are only valid for the project they were computed against.
+    */
+   private void checkProject(final Shell shell)
+   {
+      Project project = shell.getCurrentProject();
+      if (project != cachedProject)
+      {
+         invalidate();
+         cachedProject = project;
+      }
+   }
+
    @Override
    public Map<String, List<PluginMetadata>> getPlugins()
    {
@@ -71,6 +154,13 @@ public class PluginRegistryImpl implements PluginRegistry
       }
 
       plugins.get(plugin.getName()).add(plugin);
+      pluginTrie = pluginTrie.with(plugin.getName(), snapshot(plugins.get(plugin.getName())));
+      invalidate();
+   }
+
+   private static List<PluginMetadata> snapshot(final List<PluginMetadata> list)
+   {
+      return Collections.unmodifiableList(new ArrayList<PluginMetadata>(list));
    }
 
    @Override
@@ -109,37 +199,58 @@ public class PluginRegistryImpl implements PluginRegistry
    @Override
    public List<PluginMetadata> getPluginMetadata(final String plugin)
    {
-      List<PluginMetadata> list = plugins.get(plugin);
+      List<PluginMetadata> list = pluginTrie.get(plugin);
       if ((list != null) && !list.isEmpty())
-         return Collections.unmodifiableList(list);
+         return list;
       else
          return new ArrayList<PluginMetadata>();
    }
 
+   /**
+    * Get the {@link PluginMetadata} of every plugin whose name starts with the given prefix, ignoring case, ordered by
+    * name.
+    */
+   public List<PluginMetadata> getPluginMetadataByPrefix(final String prefix)
+   {
+      List<PluginMetadata> result = new ArrayList<PluginMetadata>();
+      for (List<PluginMetadata> list : pluginTrie.getByPrefix(prefix))
+      {
+         result.addAll(list);
+      }
+      return result;
+   }
+
    /**
     * Get {@link PluginMetadata} matching the given name, {@link RequiresResource},
     * {@link org.jboss.forge.maven.Project}, {@link PackagingType}, and {@link Facet} constraints. Return null if no
     * match for the given constraints can be found.
     */
    @Override
-   public PluginMetadata getPluginMetadataForScopeAndConstraints(final String name, final Shell shell)
+   public synchronized PluginMetadata getPluginMetadataForScopeAndConstraints(final String name, final Shell shell)
    {
-      Class<? extends Resource<?>> scope = shell.getCurrentResourceScope();
-      if (accessCache.containsKey(name) && accessCache.get(name).containsKey(scope))
+      List<PluginMetadata> pluginMetadataList = pluginTrie.get(name);
+      if (pluginMetadataList == null)
       {
-         return accessCache.get(name).get(scope);
+         return null;
       }
 
-      List<PluginMetadata> pluginMetadataList = plugins.get(name);
-      if (pluginMetadataList == null)
+      checkProject(shell);
+      Class<? extends Resource<?>> scope = shell.getCurrentResourceScope();
+      Map<Class<?>, PluginMetadata> scopes = accessCache.get(name);
+      if (scopes == null)
       {
-         return null;
+         scopes = new HashMap<Class<?>, PluginMetadata>();
+         accessCache.put(name, scopes);
+      }
+      else if (scopes.containsKey(scope))
+      {
+         return scopes.get(scope);
       }
 
       PluginMetadata pmd = null;
       for (PluginMetadata p : pluginMetadataList)
       {
-         if (p.constrantsSatisfied(shell))
+         if (isSatisfied(p, shell, scope))
          {
             pmd = p;
             break;
@@ -172,9 +283,39 @@ public class PluginRegistryImpl implements PluginRegistry
          }
       }
 
+      scopes.put(scope, pmd);
       return pmd;
    }
 
+   /**
+    * Return true if the given plugin's constraints are satisfied in the current scope and project, or if its setup
+    * command is available.
+    */
+   public synchronized boolean isAvailable(final PluginMetadata plugin, final Shell shell)
+   {
+      checkProject(shell);
+      Class<? extends Resource<?>> scope = shell.getCurrentResourceScope();
+      return isSatisfied(plugin, shell, scope) || plugin.isSetupAvailable(shell);
+   }
+
+   private boolean isSatisfied(final PluginMetadata plugin, final Shell shell, final Class<?> scope)
+   {
+      Map<Class<?>, Boolean> scopes = availabilityCache.get(plugin);
+      if (scopes == null)
+      {
+         scopes = new HashMap<Class<?>, Boolean>();
+         availabilityCache.put(plugin, scopes);
+      }
+
+      Boolean result = scopes.get(scope);
+      if (result == null)
+      {
+         result = plugin.constrantsSatisfied(shell);
+         scopes.put(scope, result);
+      }
+      return result;
+   }
+
    private void sanityCheck()
    {
       for (Map.Entry<String, List<PluginMetadata>> entry : plugins.entrySet())
@@ -6,7 +6,10 @@
  */
 package org.jboss.forge.shell.command.fshparser;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
 
 import javax.enterprise.inject.Instance;
@@ -14,10 +17,13 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.ShellImpl;
+import org.jboss.forge.shell.command.EventBusInvoker;
 import org.jboss.forge.shell.command.Execution;
 import org.jboss.forge.shell.command.ExecutionParser;
 import org.jboss.forge.shell.command.PluginRegistry;
 import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.util.PipeBuffer;
 import org.jboss.forge.shell.util.PipeOutImpl;
 
 /**
@@ -26,37 +32,109 @@ import org.jboss.forge.shell.util.PipeOutImpl;
 @Singleton
 public class FSHRuntime
 {
+   public static final int MAX_CACHED_SCRIPTS = 64;
+
    private final Shell shell;
    private final PluginRegistry pluginRegistry;
    private final Instance<Execution> executionInstance;
    private final ExecutionParser executionParser;
+   private final EventBusInvoker eventBusInvoker;
+
+   /*
+    * Set on the thread running the last command of a streaming pipeline, until all of its commands have finished.
+    */
+   private static final ThreadLocal<Boolean> streaming = new ThreadLocal<Boolean>();
+
+   /*
+    * Parsed scripts by source text, least recently used first.
+    */
+   private final Map<String, Node> scripts = Collections.synchronizedMap(new LinkedHashMap<String, Node>(16, 0.75f,
+            true)
+   {
+      private static final long serialVersionUID = -4392734170316920412L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Node> eldest)
+      {
+         return size() > MAX_CACHED_SCRIPTS;
+      }
+   });
 
    @Inject
    public FSHRuntime(Shell shell, PluginRegistry pluginRegistry,
             Instance<Execution> executionInstance,
-            ExecutionParser executionParser)
+            ExecutionParser executionParser, EventBusInvoker eventBusInvoker)
    {
       this.shell = shell;
       this.pluginRegistry = pluginRegistry;
       this.executionInstance = executionInstance;
       this.executionParser = executionParser;
+      this.eventBusInvoker = eventBusInvoker;
+   }
+
+   /**
+    * Return true if the current thread is running a command of a streaming pipeline. Queued events are fired once the
+    * whole pipeline has finished, rather than after each of its commands.
+    */
+   public static boolean isStreamingPipeline()
+   {
+      return (Thread.currentThread() instanceof PipeStage) || (streaming.get() != null);
    }
 
    public void run(final String str)
    {
-      run(new FSHParser(str).parse(), null);
+      run(compile(str), null);
+   }
+
+   /**
+    * Parse the given script, or return the parsed form cached for the same text. Parsed scripts are not modified by
+    * {@link #run(Node, PipeOut)}, and may be run any number of times.
+    */
+   public Node compile(final String script)
+   {
+      Node result = scripts.get(script);
+      if (result == null)
+      {
+         result = new FSHParser(script).parse();
+         if (result != null)
+         {
+            scripts.put(script, result);
+         }
+      }
+      return result;
    }
 
    public void run(final Node startNode, final PipeOut forwardPipe)
+   {
+      run(startNode, forwardPipe, null);
+   }
+
+   /**
+    * Run the statements starting at the given node. When the shell property {@link ShellImpl#PROP_STREAMING_PIPES} is
+    * set, each command whose output is piped runs on its own thread, streaming its output to the next command through a
+    * bounded {@link PipeBuffer}; otherwise its output is collected, and handed on once it has finished. Events queued by
+    * a streaming pipeline are fired once all of its commands have finished. Each statement waits for events delivered
+    * in the background by the statement before it.
+    */
+   private void run(final Node startNode, final PipeOut forwardPipe, final PipeBuffer forwardStream)
    {
       AutoReducingQueue arQueue;
       Node n = startNode;
       PipeOut lastPipe = null;
+      PipeBuffer lastStream = null;
+      PipeStage lastStage = null;
 
       do
       {
          if (n instanceof LogicalStatement)
          {
+            if (!isStreamingPipeline())
+            {
+               /*
+                * Let events of the previous statement of a script finish before this one runs
+                */
+               eventBusInvoker.awaitDispatch();
+            }
             arQueue = new AutoReducingQueue(((LogicalStatement) n).getNest(), this);
          }
          else if (n instanceof PipeNode)
@@ -66,7 +144,32 @@ public class FSHRuntime
                throw new RuntimeException("broken pipe");
             }
 
-            run(((PipeNode) n).getNest(), lastPipe);
+            RuntimeException failure = null;
+            boolean outermost = (lastStage != null) && !isStreamingPipeline();
+            if (outermost)
+            {
+               streaming.set(Boolean.TRUE);
+            }
+            try
+            {
+               run(((PipeNode) n).getNest(), lastPipe, lastStream);
+            }
+            finally
+            {
+               if (lastStage != null)
+               {
+                  failure = lastStage.finish();
+               }
+               if (outermost)
+               {
+                  streaming.remove();
+                  eventBusInvoker.fireAll();
+               }
+            }
+            if (failure != null)
+            {
+               throw failure;
+            }
             continue;
          }
          else
@@ -86,12 +189,15 @@ public class FSHRuntime
 
          if (!outQueue.isEmpty())
          {
-            PipeOut pipeOut = new PipeOutImpl(shell);
+            boolean piped = n.next != null && n.next instanceof PipeNode;
+            PipeBuffer stream = piped && isStreamingPipes() ? new PipeBuffer() : null;
+            PipeOut pipeOut = new PipeOutImpl(shell, stream);
 
-            if (n.next != null && n.next instanceof PipeNode)
+            if (piped)
             {
                pipeOut.setPiped(true);
                lastPipe = pipeOut;
+               lastStream = stream;
             }
 
             Node x = n;
@@ -103,15 +209,37 @@ public class FSHRuntime
                }
             }
 
-            String pipeIn = forwardPipe != null ? forwardPipe.getBuffer() : null;
-            Execution execution = executionParser.parse(outQueue, pipeIn, pipeOut);
+            Execution execution;
+            if (forwardStream != null)
+            {
+               execution = executionParser.parse(outQueue, forwardStream.getInputStream(), pipeOut);
+            }
+            else
+            {
+               String pipeIn = forwardPipe != null ? forwardPipe.getBuffer() : null;
+               execution = executionParser.parse(outQueue, pipeIn, pipeOut);
+            }
             execution.verifyConstraints(shell);
-            execution.perform(forwardPipe);
+
+            if (stream != null)
+            {
+               lastStage = new PipeStage(execution, forwardPipe, stream);
+               lastStage.start();
+            }
+            else
+            {
+               execution.perform(forwardPipe);
+            }
          }
       }
       while ((n = n.next) != null);
    }
 
+   private boolean isStreamingPipes()
+   {
+      return Boolean.parseBoolean(String.valueOf(shell.getEnvironment().getProperty(ShellImpl.PROP_STREAMING_PIPES)));
+   }
+
    public void shell(String command)
    {
       run(command);
@@ -131,4 +259,65 @@ public class FSHRuntime
    {
       return executionInstance;
    }
+
+   /**
+    * A piped command running concurrently with the command it pipes to.
+    */
+   private static class PipeStage extends Thread
+   {
+      private final Execution execution;
+      private final PipeOut forwardPipe;
+      private final PipeBuffer stream;
+      private RuntimeException failure;
+
+      PipeStage(final Execution execution, final PipeOut forwardPipe, final PipeBuffer stream)
+      {
+         super("FSH pipe: " + execution.getOriginalStatement());
+         setDaemon(true);
+         this.execution = execution;
+         this.forwardPipe = forwardPipe;
+         this.stream = stream;
+      }
+
+      @Override
+      public void run()
+      {
+         try
+         {
+            execution.perform(forwardPipe);
+         }
+         catch (RuntimeException e)
+         {
+            /*
+             * Once the next command has stopped reading, a failure to write to it is expected.
+             */
+            if (!stream.isReaderClosed())
+            {
+               failure = e;
+            }
+         }
+         finally
+         {
+            stream.closeWriter();
+         }
+      }
+
+      /**
+       * Stop this command writing to the next, which has finished, and wait for it to finish. Return the exception it
+       * failed with, if any.
+       */
+      RuntimeException finish()
+      {
+         stream.closeReader();
+         try
+         {
+            join();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+         }
+         return failure;
+      }
+   }
 }
@@ -8,8 +8,12 @@ package org.jboss.forge.shell.command.fshparser;
 
 import static java.lang.Character.isJavaIdentifierPart;
 
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
@@ -20,9 +24,26 @@ import org.mvel2.MVEL;
  */
 public abstract class Parse
 {
+   public static final int MAX_CACHED_EXPRESSIONS = 512;
+
    private static final Set<String> reservedWords = new HashSet<String>();
    private static final Set<String> operators = new HashSet<String>();
 
+   /*
+    * Compiled MVEL expressions by source text, least recently used first.
+    */
+   private static final Map<String, Serializable> expressions = Collections
+            .synchronizedMap(new LinkedHashMap<String, Serializable>(16, 0.75f, true)
+            {
+               private static final long serialVersionUID = 2748931562437920178L;
+
+               @Override
+               protected boolean removeEldestEntry(final Map.Entry<String, Serializable> eldest)
+               {
+                  return size() > MAX_CACHED_EXPRESSIONS;
+               }
+            });
+
    static
    {
       reservedWords.add("if");
@@ -135,7 +156,7 @@ public abstract class Parse
 
       // System.out.println("\n----\n" + toExec + "\n========\n");
 
-      Object r = MVEL.eval(toExec, runtime, runtime.getShell().getEnvironment().getProperties());
+      Object r = eval(toExec, runtime, runtime.getShell().getEnvironment().getProperties());
       if (r == null)
       {
          return null;
@@ -145,4 +166,27 @@ public abstract class Parse
          return String.valueOf(r);
       }
    }
+
+   /**
+    * Evaluate the given MVEL expression, re-using the compiled form of the expression if it has been evaluated
+    * recently.
+    */
+   public static Object eval(final String expression, final Object ctx, final Map<String, Object> vars)
+   {
+      return MVEL.executeExpression(compileExpression(expression), ctx, vars);
+   }
+
+   /**
+    * Compile the given MVEL expression, or return the compiled form cached for the same text.
+    */
+   public static Serializable compileExpression(final String expression)
+   {
+      Serializable result = expressions.get(expression);
+      if (result == null)
+      {
+         result = MVEL.compileExpression(expression);
+         expressions.put(expression, result);
+      }
+      return result;
+   }
 }
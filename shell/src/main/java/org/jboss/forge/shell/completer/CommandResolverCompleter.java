@@ -14,6 +14,7 @@ import javax.inject.Inject;
 
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.command.CommandMetadata;
+import org.jboss.forge.shell.command.PluginLookup;
 import org.jboss.forge.shell.command.PluginMetadata;
 
 public class CommandResolverCompleter implements CommandCompleter
@@ -104,26 +105,12 @@ public class CommandResolverCompleter implements CommandCompleter
       List<String> results = new ArrayList<String>();
       if (plugin.hasCommands())
       {
-         List<CommandMetadata> commands = plugin.getCommands(shell);
-         if (tokens.isEmpty())
+         String pluginBase = tokens.isEmpty() ? "" : tokens.remove();
+         for (CommandMetadata command : PluginLookup.getCommandsByPrefix(plugin, pluginBase, shell))
          {
-            for (CommandMetadata command : commands)
+            if (!command.isDefault())
             {
-               if (!command.isDefault())
-               {
-                  results.add(command.getName() + " ");
-               }
-            }
-         }
-         else
-         {
-            String pluginBase = tokens.remove();
-            for (CommandMetadata command : commands)
-            {
-               if (!command.isDefault() && PluginCommandCompleter.isPotentialMatch(command.getName(), pluginBase))
-               {
-                  results.add(command.getName() + " ");
-               }
+               results.add(command.getName() + " ");
             }
          }
       }
@@ -132,16 +119,11 @@ public class CommandResolverCompleter implements CommandCompleter
 
    private boolean couldBeCommand(final PluginMetadata plugin, final String potentialCommand)
    {
-      List<CommandMetadata> commands = plugin.getCommands(shell);
-      if ((commands != null) && !commands.isEmpty())
+      for (CommandMetadata commandMetadata : PluginLookup.getCommandsByPrefix(plugin, potentialCommand, shell))
       {
-         for (CommandMetadata commandMetadata : commands)
+         if (!commandMetadata.isDefault())
          {
-            if (!commandMetadata.isDefault()
-                     && PluginCommandCompleter.isPotentialMatch(commandMetadata.getName(), potentialCommand))
-            {
-               return true;
-            }
+            return true;
          }
       }
       return false;
@@ -8,13 +8,12 @@ package org.jboss.forge.shell.completer;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Queue;
 
 import javax.inject.Inject;
 
 import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.command.PluginLookup;
 import org.jboss.forge.shell.command.PluginMetadata;
 import org.jboss.forge.shell.command.PluginRegistry;
 
@@ -90,22 +89,12 @@ public class PluginResolverCompleter implements CommandCompleter
 
    private List<String> getPluginCandidates(final PluginRegistry registry, final String pluginBase)
    {
-      Map<String, List<PluginMetadata>> plugins = registry.getPlugins();
-
       List<String> results = new ArrayList<String>();
-      for (Entry<String, List<PluginMetadata>> entry : plugins.entrySet())
+      for (PluginMetadata pluginMeta : PluginLookup.getPluginMetadataByPrefix(registry, pluginBase))
       {
-         for (PluginMetadata pluginMeta : entry.getValue())
+         if (pluginMeta.hasCommands() && PluginLookup.isAvailable(registry, pluginMeta, shell))
          {
-            if (pluginMeta.hasCommands())
-            {
-               String pluginName = pluginMeta.getName();
-               if (PluginCommandCompleter.isPotentialMatch(pluginName, pluginBase)
-                        && (pluginMeta.constrantsSatisfied(shell) || pluginMeta.isSetupAvailable(shell)))
-               {
-                  results.add(pluginName + " ");
-               }
-            }
+            results.add(pluginMeta.getName() + " ");
          }
       }
 
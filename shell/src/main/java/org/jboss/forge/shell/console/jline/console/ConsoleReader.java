@@ -2350,6 +2350,12 @@ public class ConsoleReader
 
    public int searchBackwards(final String searchTerm, final int startIndex, final boolean startsWith)
    {
+      if (history instanceof org.jboss.forge.shell.console.jline.console.history.MemoryHistory)
+      {
+         return ((org.jboss.forge.shell.console.jline.console.history.MemoryHistory) history).searchBackwards(
+                  searchTerm, startIndex, startsWith);
+      }
+
       ListIterator<org.jboss.forge.shell.console.jline.console.history.History.Entry> it = history.entries(startIndex);
       while (it.hasPrevious())
       {
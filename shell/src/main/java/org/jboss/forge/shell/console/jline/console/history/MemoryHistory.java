@@ -7,13 +7,19 @@
 
 package org.jboss.forge.shell.console.jline.console.history;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
  * Non-persistent {@link History}.
+ * <p>
+ * Entries are kept in a ring buffer, so indexed access is constant time however long the history grows. Reverse
+ * search is served by an index of the three-character substrings of every entry, built on the first search and kept
+ * up to date from then on.
  * 
  * @author <a href="mailto:mwp1@cornell.edu">Marc Prud'hommeaux</a>
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
@@ -24,7 +30,15 @@ public class MemoryHistory
 {
    public static final int DEFAULT_MAX_SIZE = 500;
 
-   private final LinkedList<CharSequence> items = new LinkedList<CharSequence>();
+   private static final int INITIAL_CAPACITY = 16;
+
+   private static final int GRAM = 3;
+
+   private CharSequence[] items = new CharSequence[INITIAL_CAPACITY];
+
+   private int head = 0;
+
+   private int count = 0;
 
    private int maxSize = DEFAULT_MAX_SIZE;
 
@@ -46,6 +60,14 @@ public class MemoryHistory
 
    private int index = 0;
 
+   /*
+    * Entry indexes containing each trigram, in ascending order; null until the first search. May still list entries
+    * that have since been trimmed, up to indexedFrom.
+    */
+   private Map<Long, Postings> grams;
+
+   private int indexedFrom;
+
    public void setMaxSize(final int maxSize)
    {
       this.maxSize = maxSize;
@@ -79,12 +101,12 @@ public class MemoryHistory
 
    public int size()
    {
-      return items.size();
+      return count;
    }
 
    public boolean isEmpty()
    {
-      return items.isEmpty();
+      return count == 0;
    }
 
    public int index()
@@ -94,14 +116,27 @@ public class MemoryHistory
 
    public void clear()
    {
-      items.clear();
+      items = new CharSequence[INITIAL_CAPACITY];
+      head = 0;
+      count = 0;
       offset = 0;
       index = 0;
+      grams = null;
    }
 
    public CharSequence get(final int index)
    {
-      return items.get(index - offset);
+      int position = index - offset;
+      if ((position < 0) || (position >= count))
+      {
+         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+      }
+      return item(position);
+   }
+
+   private CharSequence item(final int position)
+   {
+      return items[(head + position) % items.length];
    }
 
    public void add(CharSequence item)
@@ -115,31 +150,68 @@ public class MemoryHistory
 
       if (isIgnoreDuplicates())
       {
-         if (!items.isEmpty() && item.equals(items.getLast()))
+         if ((count > 0) && item.equals(item(count - 1)))
          {
             return;
          }
       }
 
-      items.add(item);
+      if (count == items.length)
+      {
+         grow();
+      }
+      items[(head + count) % items.length] = item;
+      count++;
+      if (grams != null)
+      {
+         indexEntry(offset + count - 1, item);
+      }
 
       maybeResize();
    }
 
    public void replace(final CharSequence item)
    {
-      items.removeLast();
+      if (count == 0)
+      {
+         throw new NoSuchElementException();
+      }
+      count--;
+      int slot = (head + count) % items.length;
+      if (grams != null)
+      {
+         unindexEntry(offset + count, items[slot]);
+      }
+      items[slot] = null;
       add(item);
    }
 
+   private void grow()
+   {
+      CharSequence[] larger = new CharSequence[items.length * 2];
+      for (int i = 0; i < count; i++)
+      {
+         larger[i] = item(i);
+      }
+      items = larger;
+      head = 0;
+   }
+
    private void maybeResize()
    {
       while (size() > getMaxSize())
       {
-         items.removeFirst();
+         items[head] = null;
+         head = (head + 1) % items.length;
+         count--;
          offset++;
       }
 
+      if ((grams != null) && ((offset - indexedFrom) > count))
+      {
+         buildIndex();
+      }
+
       index = size();
    }
 
@@ -158,6 +230,154 @@ public class MemoryHistory
       return entries();
    }
 
+   //
+   // Search
+   //
+
+   /**
+    * Search backwards from the given index for an entry containing, or starting with, the given term.
+    * 
+    * @return the index of the nearest matching entry before startIndex, or -1 if there is none.
+    */
+   public int searchBackwards(final String term, final int startIndex, final boolean startsWith)
+   {
+      int from = Math.min(startIndex, offset + count) - 1;
+      if (term.length() < GRAM)
+      {
+         for (int i = from; i >= offset; i--)
+         {
+            if (matches(get(i), term, startsWith))
+            {
+               return i;
+            }
+         }
+         return -1;
+      }
+
+      if (grams == null)
+      {
+         buildIndex();
+      }
+
+      Postings rarest = null;
+      for (int i = 0; i + GRAM <= term.length(); i++)
+      {
+         Postings postings = grams.get(gram(term, i));
+         if (postings == null)
+         {
+            return -1;
+         }
+         if ((rarest == null) || (postings.size < rarest.size))
+         {
+            rarest = postings;
+         }
+      }
+
+      for (int i = rarest.floor(from); i >= 0; i--)
+      {
+         int candidate = rarest.ids[i];
+         if (candidate < offset)
+         {
+            break;
+         }
+         if (matches(get(candidate), term, startsWith))
+         {
+            return candidate;
+         }
+      }
+      return -1;
+   }
+
+   private static boolean matches(final CharSequence entry, final String term, final boolean startsWith)
+   {
+      String value = entry.toString();
+      return startsWith ? value.startsWith(term) : value.contains(term);
+   }
+
+   private void buildIndex()
+   {
+      grams = new HashMap<Long, Postings>();
+      indexedFrom = offset;
+      for (int i = 0; i < count; i++)
+      {
+         indexEntry(offset + i, item(i));
+      }
+   }
+
+   private void indexEntry(final int id, final CharSequence entry)
+   {
+      for (int i = 0; i + GRAM <= entry.length(); i++)
+      {
+         Long key = gram(entry, i);
+         Postings postings = grams.get(key);
+         if (postings == null)
+         {
+            postings = new Postings();
+            grams.put(key, postings);
+         }
+         postings.add(id);
+      }
+   }
+
+   private void unindexEntry(final int id, final CharSequence entry)
+   {
+      for (int i = 0; i + GRAM <= entry.length(); i++)
+      {
+         Long key = gram(entry, i);
+         Postings postings = grams.get(key);
+         if (postings != null)
+         {
+            postings.removeLast(id);
+            if (postings.size == 0)
+            {
+               grams.remove(key);
+            }
+         }
+      }
+   }
+
+   private static Long gram(final CharSequence value, final int start)
+   {
+      return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+   }
+
+   private static class Postings
+   {
+      private int[] ids = new int[4];
+
+      private int size = 0;
+
+      void add(final int id)
+      {
+         if ((size > 0) && (ids[size - 1] == id))
+         {
+            return;
+         }
+         if (size == ids.length)
+         {
+            ids = Arrays.copyOf(ids, size * 2);
+         }
+         ids[size++] = id;
+      }
+
+      void removeLast(final int id)
+      {
+         if ((size > 0) && (ids[size - 1] == id))
+         {
+            size--;
+         }
+      }
+
+      /**
+       * Return the position of the greatest id not above the given one, or -1 if there is none.
+       */
+      int floor(final int id)
+      {
+         int position = Arrays.binarySearch(ids, 0, size, id);
+         return position >= 0 ? position : -position - 2;
+      }
+   }
+
    private static class EntryImpl
             implements Entry
    {
@@ -191,49 +411,56 @@ public class MemoryHistory
    private class EntriesIterator
             implements ListIterator<Entry>
    {
-      private final ListIterator<CharSequence> source;
+      private int cursor;
 
       private EntriesIterator(final int index)
       {
-         source = items.listIterator(index);
+         if ((index < 0) || (index > count))
+         {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+         }
+         cursor = index;
       }
 
       public Entry next()
       {
-         if (!source.hasNext())
+         if (!hasNext())
          {
             throw new NoSuchElementException();
          }
-         return new EntryImpl(offset + source.nextIndex(), source.next());
+         EntryImpl entry = new EntryImpl(offset + cursor, item(cursor));
+         cursor++;
+         return entry;
       }
 
       public Entry previous()
       {
-         if (!source.hasPrevious())
+         if (!hasPrevious())
          {
             throw new NoSuchElementException();
          }
-         return new EntryImpl(offset + source.previousIndex(), source.previous());
+         cursor--;
+         return new EntryImpl(offset + cursor, item(cursor));
       }
 
       public int nextIndex()
       {
-         return offset + source.nextIndex();
+         return offset + cursor;
       }
 
       public int previousIndex()
       {
-         return offset + source.previousIndex();
+         return offset + cursor - 1;
       }
 
       public boolean hasNext()
       {
-         return source.hasNext();
+         return cursor < count;
       }
 
       public boolean hasPrevious()
       {
-         return source.hasPrevious();
+         return cursor > 0;
       }
 
       public void remove()
@@ -324,7 +551,7 @@ public class MemoryHistory
          return "";
       }
 
-      return items.get(index);
+      return item(index);
    }
 
    /**
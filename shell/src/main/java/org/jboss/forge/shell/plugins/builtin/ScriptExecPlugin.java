@@ -7,7 +7,7 @@
 package org.jboss.forge.shell.plugins.builtin;
 
 import static java.lang.String.valueOf;
-import static org.mvel2.MVEL.eval;
+import static org.jboss.forge.shell.command.fshparser.Parse.eval;
 
 import javax.inject.Inject;
 
@@ -15,6 +15,7 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
 import org.jboss.forge.maven.MavenPluginFacet;
+import org.jboss.forge.maven.dependencies.RepositoryMetadataCache;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.Project;
@@ -64,6 +65,7 @@ public class ProjectPlugin implements Plugin
    private Event<InstallFacets> installFacets;
    private Event<RemoveFacets> removeFacets;
    private DependencyInstaller dependencyInstaller;
+   private RepositoryMetadataCache metadataCache;
 
    public ProjectPlugin()
    {
@@ -72,7 +74,7 @@ public class ProjectPlugin implements Plugin
    @Inject
    public ProjectPlugin(final Project project, final Shell shell, final FacetFactory factory,
             final Event<InstallFacets> installFacets, final Event<RemoveFacets> removeFacets,
-            final DependencyInstaller installer)
+            final DependencyInstaller installer, final RepositoryMetadataCache metadataCache)
    {
       this.project = project;
       this.shell = shell;
@@ -80,6 +82,7 @@ public class ProjectPlugin implements Plugin
       this.installFacets = installFacets;
       this.removeFacets = removeFacets;
       this.dependencyInstaller = installer;
+      this.metadataCache = metadataCache;
    }
 
    @DefaultCommand
@@ -226,6 +229,13 @@ public class ProjectPlugin implements Plugin
       }
    }
 
+   @Command(value = "refresh-dependency-metadata", help = "Discard cached dependency versions and metadata.")
+   public void refreshDependencyMetadata(final PipeOut out)
+   {
+      metadataCache.clear();
+      out.println("Cleared cached dependency metadata.");
+   }
+
    /*
     * Managed Dependency manipulation
     */
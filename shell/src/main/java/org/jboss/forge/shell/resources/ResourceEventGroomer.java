@@ -7,84 +7,40 @@
 package org.jboss.forge.shell.resources;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.forge.bus.spi.EventBusGroomer;
-import org.jboss.forge.resources.Resource;
-import org.jboss.forge.resources.VirtualResource;
+import org.jboss.forge.bus.spi.Grooms;
 import org.jboss.forge.resources.events.ResourceEvent;
 
 /**
- * Publishes file change events to the shell output stream.
+ * Keeps only the last {@link ResourceEvent} queued for each resource, in the position at which it was queued.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
+@Grooms(ResourceEvent.class)
 public class ResourceEventGroomer implements EventBusGroomer
 {
    @Override
    public List<Object> groom(final List<Object> events)
    {
-      List<Resource<?>> seen = new ArrayList<Resource<?>>();
-      List<Object> result = new ArrayList<Object>();
-
+      Map<Object, Object> result = new LinkedHashMap<Object, Object>();
       for (Object e : events)
       {
          if (e instanceof ResourceEvent)
          {
-            Resource<?> resource = ((ResourceEvent) e).getResource();
-            if (seen.contains(resource))
-            {
-               result.remove(seen.indexOf(resource));
-               seen.remove(seen.indexOf(resource));
-            }
-            result.add(e);
-            seen.add(resource);
+            String key = ((ResourceEvent) e).getResource().getFullyQualifiedName();
+            result.remove(key);
+            result.put(key, e);
          }
          else
          {
-            result.add(e);
-            seen.add(new Placeholder(null));
+            result.put(new Object(), e);
          }
       }
 
-      return result;
-   }
-
-   private final class Placeholder extends VirtualResource<Object>
-   {
-      private Placeholder(final Resource<?> parent)
-      {
-         super(null);
-      }
-
-      @Override
-      public boolean delete() throws UnsupportedOperationException
-      {
-         return true;
-      }
-
-      @Override
-      public boolean delete(final boolean recursive) throws UnsupportedOperationException
-      {
-         return true;
-      }
-
-      @Override
-      public String getName()
-      {
-         return "";
-      }
-
-      @Override
-      protected List<Resource<?>> doListResources()
-      {
-         return new ArrayList<Resource<?>>();
-      }
-
-      @Override
-      public Object getUnderlyingResourceObject()
-      {
-         return new Object();
-      }
+      return new ArrayList<Object>(result.values());
    }
 }
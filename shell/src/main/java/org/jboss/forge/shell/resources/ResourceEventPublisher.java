@@ -6,12 +6,16 @@
  */
 package org.jboss.forge.shell.resources;
 
+import java.util.List;
+
 import javax.enterprise.event.Observes;
 
 import org.jboss.forge.resources.events.ResourceCreated;
 import org.jboss.forge.resources.events.ResourceDeleted;
 import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.events.ResourceRenamed;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
 import org.jboss.forge.shell.ShellPrintWriter;
 
 /**
@@ -22,18 +26,33 @@ import org.jboss.forge.shell.ShellPrintWriter;
  */
 public class ResourceEventPublisher
 {
-   public void created(@Observes final ResourceCreated event, final ShellPrintWriter writer)
+   public void created(@Observes final ResourceCreated event, final ShellPrintWriter writer,
+            final ResourceWatcher watcher)
    {
+      if (event.isCommitted() || watcher.isExternal(event))
+      {
+         return;
+      }
       writer.println("Wrote " + event.getResource().getFullyQualifiedName());
    }
 
-   public void modified(@Observes final ResourceModified event, final ShellPrintWriter writer)
+   public void modified(@Observes final ResourceModified event, final ShellPrintWriter writer,
+            final ResourceWatcher watcher)
    {
+      if (event.isCommitted() || watcher.isExternal(event))
+      {
+         return;
+      }
       writer.println("Wrote " + event.getResource().getFullyQualifiedName());
    }
 
-   public void deleted(@Observes final ResourceDeleted event, final ShellPrintWriter writer)
+   public void deleted(@Observes final ResourceDeleted event, final ShellPrintWriter writer,
+            final ResourceWatcher watcher)
    {
+      if (watcher.isExternal(event))
+      {
+         return;
+      }
       writer.println("Deleted " + event.getResource().getFullyQualifiedName());
    }
 
@@ -41,4 +60,32 @@ public class ResourceEventPublisher
    {
       writer.println("Renamed " + event.getOriginalLocation() + " -> " + event.getNewLocation());
    }
+
+   public void committed(@Observes final ResourceTransactionCommitted event, final ShellPrintWriter writer)
+   {
+      List<Resource<?>> resources = event.getResources();
+      if (resources.size() == 1)
+      {
+         writer.println("Wrote " + resources.get(0).getFullyQualifiedName());
+      }
+      else if (!resources.isEmpty())
+      {
+         String common = resources.get(0).getFullyQualifiedName();
+         for (Resource<?> resource : resources)
+         {
+            String name = resource.getFullyQualifiedName();
+            while (!name.startsWith(common + "/"))
+            {
+               int separator = common.lastIndexOf('/');
+               if (separator < 0)
+               {
+                  common = "";
+                  break;
+               }
+               common = common.substring(0, separator);
+            }
+         }
+         writer.println("Wrote " + resources.size() + " files under " + (common.length() == 0 ? "/" : common));
+      }
+   }
 }
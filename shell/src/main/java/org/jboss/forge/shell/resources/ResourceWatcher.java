@@ -0,0 +1,384 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.resources;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jboss.forge.bus.EventBus;
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.events.FileWritten;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceDeleted;
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.shell.events.PreShutdown;
+import org.jboss.forge.shell.events.ResourceChanged;
+
+/**
+ * Detects changes made outside the shell (by an IDE, or a <code>git checkout</code>) to the directories the user has
+ * visited. Watched directories are polled in the background, by their last-modified time alone; a directory is only
+ * listed again when that time changes, as it does when an entry is created, deleted or replaced (a file edited in
+ * place is only seen once its directory next changes). Changes found are published as {@link ResourceCreated},
+ * {@link ResourceModified} and {@link ResourceDeleted} events, on the shell thread, before the next command runs.
+ * <p>
+ * Files written by the shell itself are recorded as they are written, through {@link FileWritten}, so that they are not
+ * reported again.
+ */
+@Singleton
+public class ResourceWatcher
+{
+   public static final long POLL_INTERVAL = 2000;
+   public static final int MAX_WATCHED_DIRECTORIES = 64;
+
+   private static final Logger log = Logger.getLogger(ResourceWatcher.class.getName());
+
+   @Inject
+   private BeanManager manager;
+
+   @Inject
+   private ResourceFactory factory;
+
+   @Inject
+   private EventBus bus;
+
+   private final Map<File, Watch> watches = new LinkedHashMap<File, Watch>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = -2217328104519423093L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<File, Watch> eldest)
+      {
+         return size() > MAX_WATCHED_DIRECTORIES;
+      }
+   };
+
+   private final Queue<Change> changes = new ConcurrentLinkedQueue<Change>();
+   private final Set<ResourceEvent> published = Collections.synchronizedSet(Collections
+            .newSetFromMap(new IdentityHashMap<ResourceEvent, Boolean>()));
+
+   private ScheduledExecutorService poller;
+
+   public void visited(@Observes final ResourceChanged event)
+   {
+      if (event.getNewResource() instanceof DirectoryResource)
+      {
+         watch((DirectoryResource) event.getNewResource());
+      }
+   }
+
+   /**
+    * Keep snapshots in step with changes made by the shell itself, as they are made, so that they are not reported
+    * again; a change to the file already found by a poll is dropped.
+    */
+   public void written(@Observes final FileWritten event)
+   {
+      File file = event.getFile().getAbsoluteFile();
+      synchronized (watches)
+      {
+         Watch watch = watches.get(file.getParentFile());
+         if (watch != null)
+         {
+            watch.update(file);
+         }
+         for (Iterator<Change> iterator = changes.iterator(); iterator.hasNext();)
+         {
+            if (iterator.next().file.equals(file))
+            {
+               iterator.remove();
+            }
+         }
+      }
+   }
+
+   public void shutdown(@Observes final PreShutdown event)
+   {
+      synchronized (watches)
+      {
+         if (poller != null)
+         {
+            poller.shutdownNow();
+            poller = null;
+         }
+         watches.clear();
+      }
+   }
+
+   /**
+    * Start watching the given directory, if it is not already watched.
+    */
+   public void watch(final DirectoryResource directory)
+   {
+      File file = directory.getUnderlyingResourceObject().getAbsoluteFile();
+      synchronized (watches)
+      {
+         Watch watch = watches.get(file);
+         if (watch == null)
+         {
+            watches.put(file, new Watch(directory, file));
+         }
+         else
+         {
+            watch.directory = directory;
+         }
+
+         if (poller == null)
+         {
+            poller = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+            {
+               @Override
+               public Thread newThread(final Runnable runnable)
+               {
+                  Thread thread = new Thread(runnable, "ResourceWatcher");
+                  thread.setDaemon(true);
+                  return thread;
+               }
+            });
+            poller.scheduleWithFixedDelay(new Runnable()
+            {
+               @Override
+               public void run()
+               {
+                  poll();
+               }
+            }, POLL_INTERVAL, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+         }
+      }
+   }
+
+   /**
+    * Publish all changes detected since the last call, delivering them at once rather than after the next command.
+    * Must be called from the shell thread.
+    */
+   public void publishChanges()
+   {
+      if (changes.isEmpty())
+      {
+         return;
+      }
+
+      published.clear();
+      Change change;
+      while ((change = changes.poll()) != null)
+      {
+         change.directory.refresh();
+
+         Resource<?> resource = factory.getResourceFrom(change.file);
+         ResourceEvent event;
+         switch (change.type)
+         {
+         case CREATED:
+            event = new ResourceCreated(resource);
+            break;
+         case DELETED:
+            event = new ResourceDeleted(resource);
+            break;
+         default:
+            event = new ResourceModified(resource);
+            break;
+         }
+         published.add(event);
+         manager.fireEvent(event);
+      }
+      bus.fireAll();
+   }
+
+   /**
+    * Return true if the given event was published by this watcher, rather than by a change made through the shell.
+    */
+   public boolean isExternal(final ResourceEvent event)
+   {
+      return published.contains(event);
+   }
+
+   /**
+    * Scan all watched directories for changes now, rather than waiting for the next scheduled poll.
+    */
+   public void poll()
+   {
+      synchronized (watches)
+      {
+         Iterator<Watch> iterator = watches.values().iterator();
+         while (iterator.hasNext())
+         {
+            Watch watch = iterator.next();
+            try
+            {
+               if (!watch.scan(changes))
+               {
+                  iterator.remove();
+               }
+            }
+            catch (RuntimeException e)
+            {
+               log.log(Level.FINE, "Could not scan directory " + watch.file, e);
+            }
+         }
+      }
+   }
+
+   private enum ChangeType
+   {
+      CREATED, MODIFIED, DELETED
+   }
+
+   private static class Change
+   {
+      private final ChangeType type;
+      private final DirectoryResource directory;
+      private final File file;
+
+      Change(final ChangeType type, final DirectoryResource directory, final File file)
+      {
+         this.type = type;
+         this.directory = directory;
+         this.file = file;
+      }
+   }
+
+   /**
+    * The last known last-modified time of a watched directory, and of every entry in it.
+    */
+   private static class Watch
+   {
+      /*
+       * File systems may record last-modified times to the second; a directory changed within this long of being
+       * listed may have changed again without its time changing, so it is listed again on the next poll
+       */
+      private static final long TIMESTAMP_RESOLUTION = 2000;
+
+      private final File file;
+      private DirectoryResource directory;
+      private Map<String, Long> snapshot;
+      private long modified;
+      private long listed;
+
+      Watch(final DirectoryResource directory, final File file)
+      {
+         this.directory = directory;
+         this.file = file;
+         this.snapshot = list();
+      }
+
+      /**
+       * Compare the directory against its snapshot, adding a {@link Change} for each difference. The directory is only
+       * listed if its last-modified time has changed. Return false if the directory no longer exists.
+       */
+      boolean scan(final Queue<Change> changes)
+      {
+         long lastModified = file.lastModified();
+         if (lastModified == 0L)
+         {
+            return false;
+         }
+         if ((snapshot != null) && (lastModified == modified) && (listed - modified > TIMESTAMP_RESOLUTION))
+         {
+            return true;
+         }
+
+         Map<String, Long> current = list();
+         if (current == null)
+         {
+            return false;
+         }
+         if (snapshot == null)
+         {
+            snapshot = current;
+            return true;
+         }
+
+         for (Map.Entry<String, Long> entry : current.entrySet())
+         {
+            Long previous = snapshot.get(entry.getKey());
+            if (previous == null)
+            {
+               changes.add(new Change(ChangeType.CREATED, directory, new File(file, entry.getKey())));
+            }
+            else if (!previous.equals(entry.getValue()))
+            {
+               changes.add(new Change(ChangeType.MODIFIED, directory, new File(file, entry.getKey())));
+            }
+         }
+         for (String name : snapshot.keySet())
+         {
+            if (!current.containsKey(name))
+            {
+               changes.add(new Change(ChangeType.DELETED, directory, new File(file, name)));
+            }
+         }
+
+         snapshot = current;
+         return true;
+      }
+
+      void update(final File child)
+      {
+         if (snapshot != null)
+         {
+            if (child.exists())
+            {
+               snapshot.put(child.getName(), lastModified(child));
+            }
+            else
+            {
+               snapshot.remove(child.getName());
+            }
+         }
+      }
+
+      private Map<String, Long> list()
+      {
+         modified = file.lastModified();
+         listed = System.currentTimeMillis();
+         File[] children = file.listFiles();
+         if (children == null)
+         {
+            return null;
+         }
+
+         Map<String, Long> result = new HashMap<String, Long>();
+         for (File child : children)
+         {
+            if (!FileResource.isScratchFile(child.getName()))
+            {
+               result.put(child.getName(), lastModified(child));
+            }
+         }
+         return result;
+      }
+
+      /*
+       * Directories are only reported when created or deleted; changes within them are reported if they are watched.
+       */
+      private static long lastModified(final File file)
+      {
+         return file.isDirectory() ? 0L : file.lastModified();
+      }
+   }
+}
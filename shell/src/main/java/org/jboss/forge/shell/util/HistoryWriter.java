@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends command lines to the history file. Each line is written in a single call, and the stream is flushed once
+ * {@link #MAX_PENDING_LINES} lines are pending, or {@link #FLUSH_DELAY} milliseconds after the first pending line,
+ * rather than after every command.
+ */
+public class HistoryWriter
+{
+   public static final int MAX_PENDING_LINES = 32;
+   public static final long FLUSH_DELAY = 1000;
+
+   private final OutputStream out;
+   private final byte[] separator = OSUtils.getLineSeparator().getBytes();
+
+   private int pending = 0;
+   private boolean scheduled = false;
+   private boolean closed = false;
+   private IOException failure;
+   private ScheduledExecutorService flusher;
+
+   public HistoryWriter(final OutputStream out)
+   {
+      this.out = out;
+   }
+
+   public synchronized void write(final String line) throws IOException
+   {
+      if (closed)
+      {
+         throw new IOException("History writer closed");
+      }
+      rethrowFailure();
+
+      byte[] bytes = line.getBytes();
+      byte[] record = new byte[bytes.length + separator.length];
+      System.arraycopy(bytes, 0, record, 0, bytes.length);
+      System.arraycopy(separator, 0, record, bytes.length, separator.length);
+      out.write(record);
+
+      if (++pending >= MAX_PENDING_LINES)
+      {
+         flush();
+      }
+      else if (!scheduled)
+      {
+         scheduleFlush();
+      }
+   }
+
+   /**
+    * Flush all pending lines to the underlying stream.
+    */
+   public synchronized void flush() throws IOException
+   {
+      scheduled = false;
+      if (pending > 0)
+      {
+         out.flush();
+         pending = 0;
+      }
+   }
+
+   private void rethrowFailure() throws IOException
+   {
+      IOException e = failure;
+      if (e != null)
+      {
+         failure = null;
+         throw e;
+      }
+   }
+
+   public synchronized void close() throws IOException
+   {
+      if (!closed)
+      {
+         closed = true;
+         if (flusher != null)
+         {
+            flusher.shutdownNow();
+         }
+         try
+         {
+            rethrowFailure();
+            flush();
+         }
+         finally
+         {
+            out.close();
+         }
+      }
+   }
+
+   private void scheduleFlush()
+   {
+      if (flusher == null)
+      {
+         flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+         {
+            @Override
+            public Thread newThread(final Runnable runnable)
+            {
+               Thread thread = new Thread(runnable, "HistoryWriter");
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+
+      scheduled = true;
+      flusher.schedule(new Runnable()
+      {
+         @Override
+         public void run()
+         {
+            synchronized (HistoryWriter.this)
+            {
+               try
+               {
+                  flush();
+               }
+               catch (IOException e)
+               {
+                  // reported by the next write or close
+                  failure = e;
+               }
+            }
+         }
+      }, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+   }
+}
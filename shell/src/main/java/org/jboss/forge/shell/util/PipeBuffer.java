@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * A bounded ring buffer of bytes connecting two concurrently running stages of a pipeline. Writers block while the
+ * buffer is full, and readers while it is empty.
+ * <p>
+ * Once the reading stage has finished, by calling {@link #closeReader()}, further writes fail with an
+ * {@link IllegalStateException}, so that the writing stage does not block forever.
+ */
+public class PipeBuffer
+{
+   public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+   private final byte[] buffer;
+   private int head = 0;
+   private int count = 0;
+   private boolean writerClosed = false;
+   private boolean readerClosed = false;
+
+   private final InputStream inputStream = new InputStream()
+   {
+      @Override
+      public int read() throws IOException
+      {
+         byte[] b = new byte[1];
+         return PipeBuffer.this.read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException
+      {
+         return PipeBuffer.this.read(b, off, len);
+      }
+
+      @Override
+      public int available() throws IOException
+      {
+         synchronized (PipeBuffer.this)
+         {
+            return count;
+         }
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         closeReader();
+      }
+   };
+
+   public PipeBuffer()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public PipeBuffer(final int capacity)
+   {
+      this.buffer = new byte[capacity];
+   }
+
+   /**
+    * Write the given bytes, blocking until there is room for all of them.
+    */
+   public synchronized void write(final byte[] b, int off, int len)
+   {
+      while (len > 0)
+      {
+         while ((count == buffer.length) && !readerClosed)
+         {
+            try
+            {
+               wait();
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+               throw new IllegalStateException("Interrupted while writing to pipe", e);
+            }
+         }
+         if (readerClosed)
+         {
+            throw new IllegalStateException("Pipe closed");
+         }
+
+         int tail = (head + count) % buffer.length;
+         int chunk = Math.min(len, Math.min(buffer.length - count, buffer.length - tail));
+         System.arraycopy(b, off, buffer, tail, chunk);
+         count += chunk;
+         off += chunk;
+         len -= chunk;
+         notifyAll();
+      }
+   }
+
+   public void write(final byte[] b)
+   {
+      write(b, 0, b.length);
+   }
+
+   public void write(final int b)
+   {
+      write(new byte[] { (byte) b }, 0, 1);
+   }
+
+   /**
+    * Read up to the given number of bytes, blocking until at least one is available. Return -1 once the writer has
+    * closed the pipe and all bytes have been read.
+    */
+   public synchronized int read(final byte[] b, final int off, final int len) throws IOException
+   {
+      if (len == 0)
+      {
+         return 0;
+      }
+
+      while ((count == 0) && !writerClosed)
+      {
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading from pipe");
+         }
+      }
+      if (count == 0)
+      {
+         return -1;
+      }
+
+      int chunk = Math.min(len, Math.min(count, buffer.length - head));
+      System.arraycopy(buffer, head, b, off, chunk);
+      head = (head + chunk) % buffer.length;
+      count -= chunk;
+      notifyAll();
+      return chunk;
+   }
+
+   /**
+    * Signal that no more bytes will be written.
+    */
+   public synchronized void closeWriter()
+   {
+      writerClosed = true;
+      notifyAll();
+   }
+
+   /**
+    * Signal that no more bytes will be read, and discard any that are buffered.
+    */
+   public synchronized void closeReader()
+   {
+      readerClosed = true;
+      count = 0;
+      notifyAll();
+   }
+
+   public synchronized boolean isReaderClosed()
+   {
+      return readerClosed;
+   }
+
+   /**
+    * Return a stream reading from this pipe. Closing the stream closes the reading end of the pipe.
+    */
+   public InputStream getInputStream()
+   {
+      return inputStream;
+   }
+}
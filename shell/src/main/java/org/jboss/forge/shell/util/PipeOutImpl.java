@@ -11,17 +11,27 @@ import org.jboss.forge.shell.ShellColor;
 import org.jboss.forge.shell.plugins.PipeOut;
 
 /**
+ * When piped, output is either collected in memory, to be handed to the next command once this one has finished, or,
+ * if a {@link PipeBuffer} is given, streamed to the next command as it is written.
+ * 
  * @author Mike Brock .
  */
 public class PipeOutImpl implements PipeOut
 {
    private final StringBuilder buffer = new StringBuilder();
    private final Shell shell;
+   private final PipeBuffer pipe;
    private boolean piped = false;
 
    public PipeOutImpl(final Shell shell)
+   {
+      this(shell, null);
+   }
+
+   public PipeOutImpl(final Shell shell, final PipeBuffer pipe)
    {
       this.shell = shell;
+      this.pipe = pipe;
    }
 
    @Override
@@ -29,7 +39,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(b);
+         pipe(b);
       }
       else
       {
@@ -42,11 +52,11 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append((char) b);
+         pipe(b);
       }
       else
       {
-         shell.print(String.valueOf((char) b));
+         shell.write(b);
       }
    }
 
@@ -55,7 +65,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(new String(b));
+         pipe(b, 0, b.length);
       }
       else
       {
@@ -68,7 +78,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(new String(b, offset, length));
+         pipe(b, offset, length);
       }
       else
       {
@@ -81,7 +91,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(s);
+         pipe(s);
       }
       else
       {
@@ -94,7 +104,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(s).append("\n");
+         pipe(s + "\n");
       }
       else
       {
@@ -107,7 +117,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append("\n");
+         pipe("\n");
       }
       else
       {
@@ -156,4 +166,40 @@ public class PipeOutImpl implements PipeOut
    {
       shell.flush();
    }
+
+   private void pipe(final int b)
+   {
+      if (pipe == null)
+      {
+         buffer.append((char) b);
+      }
+      else
+      {
+         pipe.write(b);
+      }
+   }
+
+   private void pipe(final byte[] b, final int offset, final int length)
+   {
+      if (pipe == null)
+      {
+         buffer.append(new String(b, offset, length));
+      }
+      else
+      {
+         pipe.write(b, offset, length);
+      }
+   }
+
+   private void pipe(final String s)
+   {
+      if (pipe == null)
+      {
+         buffer.append(s);
+      }
+      else
+      {
+         pipe.write(s.getBytes());
+      }
+   }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable prefix tree mapping names to values. Exact lookups are case-sensitive, while prefix lookups ignore case,
+ * as completion does.
+ * <p>
+ * Adding an entry returns a new trie that shares every node off the path to the new entry with this one, so a trie may
+ * be published to other threads and read without locking while updated copies are built.
+ */
+public final class PrefixTrie<V>
+{
+   private static final PrefixTrie<Object> EMPTY = new PrefixTrie<Object>(new Node<Object>(), 0);
+
+   private final Node<V> root;
+   private final int size;
+
+   private PrefixTrie(final Node<V> root, final int size)
+   {
+      this.root = root;
+      this.size = size;
+   }
+
+   @SuppressWarnings("unchecked")
+   public static <V> PrefixTrie<V> empty()
+   {
+      return (PrefixTrie<V>) EMPTY;
+   }
+
+   /**
+    * Build a trie holding all entries of the given map.
+    */
+   public static <V> PrefixTrie<V> of(final Map<String, ? extends V> entries)
+   {
+      PrefixTrie<V> result = empty();
+      for (Map.Entry<String, ? extends V> entry : entries.entrySet())
+      {
+         result = result.with(entry.getKey(), entry.getValue());
+      }
+      return result;
+   }
+
+   /**
+    * Return a trie holding the entries of this one, with the given key mapped to the given value.
+    */
+   public PrefixTrie<V> with(final String key, final V value)
+   {
+      boolean added = get(key) == null;
+      return new PrefixTrie<V>(root.with(key, 0, value), added ? size + 1 : size);
+   }
+
+   /**
+    * Return the value mapped to the given key, or null if there is none.
+    */
+   public V get(final String key)
+   {
+      Node<V> node = find(key);
+      return node == null ? null : node.values.get(key);
+   }
+
+   /**
+    * Return the values of all keys starting with the given prefix, ignoring case, in key order.
+    */
+   public List<V> getByPrefix(final String prefix)
+   {
+      Node<V> node = find(prefix);
+      if (node == null)
+      {
+         return Collections.emptyList();
+      }
+
+      List<V> result = new ArrayList<V>();
+      node.collect(result);
+      return result;
+   }
+
+   public int size()
+   {
+      return size;
+   }
+
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   private Node<V> find(final String key)
+   {
+      Node<V> node = root;
+      for (int i = 0; (node != null) && (i < key.length()); i++)
+      {
+         node = node.children.get(Character.toLowerCase(key.charAt(i)));
+      }
+      return node;
+   }
+
+   private static class Node<V>
+   {
+      private final Map<Character, Node<V>> children;
+      private final Map<String, V> values;
+
+      Node()
+      {
+         this(Collections.<Character, Node<V>> emptyMap(), Collections.<String, V> emptyMap());
+      }
+
+      Node(final Map<Character, Node<V>> children, final Map<String, V> values)
+      {
+         this.children = children;
+         this.values = values;
+      }
+
+      Node<V> with(final String key, final int depth, final V value)
+      {
+         if (depth == key.length())
+         {
+            Map<String, V> copy = new TreeMap<String, V>(values);
+            copy.put(key, value);
+            return new Node<V>(children, copy);
+         }
+
+         Character c = Character.toLowerCase(key.charAt(depth));
+         Node<V> child = children.get(c);
+         if (child == null)
+         {
+            child = new Node<V>();
+         }
+
+         Map<Character, Node<V>> copy = new TreeMap<Character, Node<V>>(children);
+         copy.put(c, child.with(key, depth + 1, value));
+         return new Node<V>(copy, values);
+      }
+
+      void collect(final List<V> result)
+      {
+         result.addAll(values.values());
+         for (Node<V> child : children.values())
+         {
+            child.collect(result);
+         }
+      }
+   }
+}
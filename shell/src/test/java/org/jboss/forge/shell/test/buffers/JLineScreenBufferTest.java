@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.buffers;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.jboss.forge.shell.buffers.JLineScreenBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JLineScreenBufferTest
+{
+   @Test
+   public void testWritesAreOrderedAndFlushed() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JLineScreenBuffer buffer = new JLineScreenBuffer(null, out);
+
+      buffer.write("$ ");
+      buffer.write('l');
+      buffer.write((byte) 's');
+      byte[] reused = "\nfile.txt\n".getBytes();
+      buffer.write(reused, 1, reused.length - 1);
+      Arrays.fill(reused, (byte) 'x');
+      buffer.flushBuffer();
+
+      Assert.assertEquals("$ lsfile.txt\n", out.toString());
+   }
+
+   @Test
+   public void testSingleBytesAreWrittenByLine() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JLineScreenBuffer buffer = new JLineScreenBuffer(null, out);
+
+      buffer.write((byte) 'o');
+      buffer.write((byte) 'k');
+      Thread.sleep(50);
+      Assert.assertEquals("", out.toString());
+
+      buffer.write((byte) '\n');
+      long deadline = System.currentTimeMillis() + JLineScreenBuffer.CLOSE_TIMEOUT;
+      while ((out.size() < 3) && (System.currentTimeMillis() < deadline))
+      {
+         Thread.sleep(10);
+      }
+      Assert.assertEquals("ok\n", out.toString());
+
+      buffer.write((byte) '$');
+      buffer.flushBuffer();
+      Assert.assertEquals("ok\n$", out.toString());
+   }
+
+   @Test
+   public void testBufferOnlyModeHoldsOutput() throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JLineScreenBuffer buffer = new JLineScreenBuffer(null, out);
+
+      buffer.bufferOnlyMode();
+      buffer.write("one ");
+      buffer.write("two");
+      Thread.sleep(50);
+      Assert.assertEquals("", out.toString());
+
+      buffer.directWriteMode();
+      Assert.assertEquals("one two", out.toString());
+   }
+
+   @Test
+   public void testLargeOutputFromManyThreads() throws Exception
+   {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final JLineScreenBuffer buffer = new JLineScreenBuffer(null, out);
+      final byte[] chunk = new byte[4096];
+      Arrays.fill(chunk, (byte) 'a');
+      final int chunks = 1024;
+
+      Thread[] threads = new Thread[4];
+      for (int i = 0; i < threads.length; i++)
+      {
+         threads[i] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               for (int j = 0; j < chunks; j++)
+               {
+                  buffer.write(chunk, 0, chunk.length);
+               }
+            }
+         };
+         threads[i].start();
+      }
+      for (Thread thread : threads)
+      {
+         thread.join();
+      }
+      buffer.flushBuffer();
+
+      Assert.assertEquals(threads.length * chunks * chunk.length, out.size());
+   }
+
+   @Test
+   public void testCloseStopsWriterThread() throws Exception
+   {
+      int before = writerThreads();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      JLineScreenBuffer buffer = new JLineScreenBuffer(null, out);
+      buffer.write("before ");
+      Assert.assertEquals(before + 1, writerThreads());
+      buffer.close();
+      Assert.assertEquals("before ", out.toString());
+
+      long deadline = System.currentTimeMillis() + JLineScreenBuffer.CLOSE_TIMEOUT;
+      while ((writerThreads() > before) && (System.currentTimeMillis() < deadline))
+      {
+         Thread.sleep(10);
+      }
+      Assert.assertEquals(before, writerThreads());
+
+      buffer.write("after");
+      Assert.assertEquals("before after", out.toString());
+   }
+
+   private static int writerThreads()
+   {
+      int count = 0;
+      for (Thread thread : Thread.getAllStackTraces().keySet())
+      {
+         if ("ScreenBuffer".equals(thread.getName()))
+         {
+            count++;
+         }
+      }
+      return count;
+   }
+}
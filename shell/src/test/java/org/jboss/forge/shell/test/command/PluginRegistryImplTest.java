@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.command;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.project.Project;
+import org.jboss.forge.project.facets.events.FacetInstalled;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceDeleted;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.resources.events.ResourceTransactionCommitted;
+import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.command.CommandLibraryExtension;
+import org.jboss.forge.shell.command.PluginMetadataImpl;
+import org.jboss.forge.shell.command.PluginRegistryImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PluginRegistryImplTest
+{
+   private PluginRegistryImpl registry;
+   private CountingPluginMetadata plugin;
+   private Project project;
+   private Shell shell;
+
+   @Before
+   public void setUp()
+   {
+      registry = new PluginRegistryImpl(new CommandLibraryExtension(), null);
+      registry.init();
+
+      plugin = new CountingPluginMetadata();
+      plugin.setName("mnp");
+      plugin.setType(MockNamedPlugin.class);
+      registry.addPlugin(plugin);
+
+      project = proxy(Project.class);
+      shell = (Shell) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Shell.class },
+               new InvocationHandler()
+               {
+                  @Override
+                  public Object invoke(final Object proxy, final Method method, final Object[] args)
+                  {
+                     if ("getCurrentProject".equals(method.getName()))
+                     {
+                        return project;
+                     }
+                     else if ("getCurrentResourceScope".equals(method.getName()))
+                     {
+                        return DirectoryResource.class;
+                     }
+                     return null;
+                  }
+               });
+   }
+
+   @Test
+   public void testConstraintsAreEvaluatedOncePerState()
+   {
+      Assert.assertSame(plugin, registry.getPluginMetadataForScopeAndConstraints("mnp", shell));
+      Assert.assertSame(plugin, registry.getPluginMetadataForScopeAndConstraints("mnp", shell));
+      Assert.assertTrue(registry.isAvailable(plugin, shell));
+      Assert.assertEquals(1, plugin.evaluations);
+   }
+
+   @Test
+   public void testProjectChangeInvalidates()
+   {
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      project = proxy(Project.class);
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(2, plugin.evaluations);
+   }
+
+   @Test
+   public void testFacetAndPomEventsInvalidate()
+   {
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      registry.facetInstalled(new FacetInstalled(null));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(2, plugin.evaluations);
+
+      registry.resourceChanged(new ResourceModified(new UnknownFileResource(null, new File("/tmp/Other.java"))));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(2, plugin.evaluations);
+
+      registry.resourceChanged(new ResourceModified(new UnknownFileResource(null, new File("/tmp/pom.xml"))));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(3, plugin.evaluations);
+
+      registry.resourceChanged(new ResourceCreated(new UnknownFileResource(null, new File("/tmp/pom.xml"))));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(4, plugin.evaluations);
+
+      registry.resourceChanged(new ResourceDeleted(new UnknownFileResource(null, new File("/tmp/pom.xml"))));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(5, plugin.evaluations);
+   }
+
+   @Test
+   public void testCommittedTransactionWritingPomInvalidates()
+   {
+      List<Resource<?>> created = new ArrayList<Resource<?>>();
+      List<Resource<?>> modified = new ArrayList<Resource<?>>();
+      modified.add(new UnknownFileResource(null, new File("/tmp/Other.java")));
+
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      registry.resourcesCommitted(new ResourceTransactionCommitted(created, modified));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(1, plugin.evaluations);
+
+      modified.add(new UnknownFileResource(null, new File("/tmp/pom.xml")));
+      registry.resourcesCommitted(new ResourceTransactionCommitted(created, modified));
+      registry.getPluginMetadataForScopeAndConstraints("mnp", shell);
+      Assert.assertEquals(2, plugin.evaluations);
+   }
+
+   @SuppressWarnings("unchecked")
+   private static <T> T proxy(final Class<T> type)
+   {
+      return (T) Proxy.newProxyInstance(PluginRegistryImplTest.class.getClassLoader(), new Class<?>[] { type },
+               new InvocationHandler()
+               {
+                  @Override
+                  public Object invoke(final Object proxy, final Method method, final Object[] args)
+                  {
+                     return null;
+                  }
+               });
+   }
+
+   private static class CountingPluginMetadata extends PluginMetadataImpl
+   {
+      private int evaluations;
+
+      @Override
+      public boolean constrantsSatisfied(final Shell shell)
+      {
+         evaluations++;
+         return true;
+      }
+   }
+}
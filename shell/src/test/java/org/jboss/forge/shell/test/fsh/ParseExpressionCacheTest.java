@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.fsh;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.forge.shell.command.fshparser.Parse;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParseExpressionCacheTest
+{
+   @Test
+   public void testCompiledExpressionIsReused()
+   {
+      Assert.assertSame(Parse.compileExpression("x * 2"), Parse.compileExpression("x * 2"));
+      Assert.assertNotSame(Parse.compileExpression("x * 2"), Parse.compileExpression("x * 3"));
+   }
+
+   @Test
+   public void testReusedExpressionSeesCurrentVariables()
+   {
+      Map<String, Object> vars = new HashMap<String, Object>();
+      vars.put("x", 2);
+      Assert.assertEquals(4, Parse.eval("x * 2", null, vars));
+      vars.put("x", 5);
+      Assert.assertEquals(10, Parse.eval("x * 2", null, vars));
+   }
+
+   @Test
+   public void testFunctionsAreDefinedInVariables()
+   {
+      Map<String, Object> vars = new HashMap<String, Object>();
+      Assert.assertEquals(3, Parse.eval("def inc(a) { a + 1 }; inc(2)", null, vars));
+      Assert.assertTrue(vars.containsKey("inc"));
+      Assert.assertEquals(6, Parse.eval("inc(5)", null, vars));
+   }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.resources;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.shell.resources.ResourceEventGroomer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceEventGroomerTest
+{
+   @Test
+   public void testLastEventPerResourceIsKept()
+   {
+      ResourceCreated createdA = new ResourceCreated(new UnknownFileResource(null, new File("/tmp/a.txt")));
+      ResourceCreated createdB = new ResourceCreated(new UnknownFileResource(null, new File("/tmp/b.txt")));
+      ResourceModified modifiedA = new ResourceModified(new UnknownFileResource(null, new File("/tmp/a.txt")));
+      MockEvent other = new MockEvent();
+
+      List<Object> events = new ArrayList<Object>();
+      events.add(createdA);
+      events.add(other);
+      events.add(createdB);
+      events.add(modifiedA);
+
+      List<Object> groomed = new ResourceEventGroomer().groom(events);
+      Assert.assertEquals(3, groomed.size());
+      Assert.assertSame(other, groomed.get(0));
+      Assert.assertSame(createdB, groomed.get(1));
+      Assert.assertSame(modifiedA, groomed.get(2));
+   }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.resources;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.FileResource;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.shell.resources.ResourceWatcher;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class ResourceWatcherTest extends AbstractShellTest
+{
+   @Inject
+   private ResourceEventObserver observer;
+
+   @Inject
+   private ResourceWatcher watcher;
+
+   @Test
+   public void testExternalChangesArePublished() throws Exception
+   {
+      DirectoryResource directory = getShell().getCurrentDirectory();
+      watcher.watch(directory);
+      Assert.assertEquals(0, directory.listResources().size());
+
+      File file = new File(directory.getUnderlyingResourceObject(), "external.txt");
+      FileWriter writer = new FileWriter(file);
+      writer.write("changed outside the shell");
+      writer.close();
+
+      watcher.poll();
+      watcher.publishChanges();
+
+      Assert.assertEquals(1, directory.listResources().size());
+      boolean found = false;
+      for (Resource<?> created : observer.getCreated())
+      {
+         found |= "external.txt".equals(created.getName());
+      }
+      Assert.assertTrue(found);
+
+      int modified = observer.getModified().size();
+      watcher.poll();
+      watcher.publishChanges();
+      Assert.assertEquals(modified, observer.getModified().size());
+   }
+
+   @Test
+   public void testShellWritesAreNotReportedAgain() throws Exception
+   {
+      DirectoryResource directory = getShell().getCurrentDirectory();
+      watcher.watch(directory);
+
+      /*
+       * The created event for this write stays queued until the end of the command; a poll in between must not take
+       * the file for an external change
+       */
+      FileResource<?> file = directory.getChildOfType(FileResource.class, "written.txt");
+      file.setContents("written by the shell");
+      watcher.poll();
+      watcher.publishChanges();
+
+      int found = 0;
+      for (Resource<?> created : observer.getCreated())
+      {
+         if ("written.txt".equals(created.getName()))
+         {
+            found++;
+         }
+      }
+      Assert.assertEquals(1, found);
+   }
+
+   @Test
+   public void testScratchFilesAreIgnored() throws Exception
+   {
+      DirectoryResource directory = getShell().getCurrentDirectory();
+      watcher.watch(directory);
+      watcher.poll();
+
+      File scratch = new File(directory.getUnderlyingResourceObject(), ".pom.xml-4711.tmp");
+      scratch.createNewFile();
+      int created = observer.getCreated().size();
+      watcher.poll();
+      watcher.publishChanges();
+      Assert.assertEquals(created, observer.getCreated().size());
+
+      scratch.delete();
+      int deleted = observer.getDeleted().size();
+      watcher.poll();
+      watcher.publishChanges();
+      Assert.assertEquals(deleted, observer.getDeleted().size());
+   }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.jboss.forge.shell.util.HistoryWriter;
+import org.jboss.forge.shell.util.OSUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HistoryWriterTest
+{
+   @Test
+   public void testLinesAreFlushedInBatches() throws Exception
+   {
+      CountingStream out = new CountingStream();
+      HistoryWriter writer = new HistoryWriter(out);
+      for (int i = 0; i < HistoryWriter.MAX_PENDING_LINES * 2; i++)
+      {
+         writer.write("ls " + i);
+      }
+      Assert.assertEquals(2, out.flushes);
+
+      writer.write("cd ..");
+      writer.close();
+      Assert.assertEquals(3, out.flushes);
+
+      String separator = OSUtils.getLineSeparator();
+      Assert.assertTrue(out.toString().startsWith("ls 0" + separator + "ls 1" + separator));
+      Assert.assertTrue(out.toString().endsWith("cd .." + separator));
+   }
+
+   @Test
+   public void testPendingLinesAreFlushedAfterDelay() throws Exception
+   {
+      CountingStream out = new CountingStream();
+      HistoryWriter writer = new HistoryWriter(out);
+      writer.write("pwd");
+      Assert.assertEquals(0, out.flushes);
+
+      long deadline = System.currentTimeMillis() + (HistoryWriter.FLUSH_DELAY * 10);
+      while ((out.flushes == 0) && (System.currentTimeMillis() < deadline))
+      {
+         Thread.sleep(50);
+      }
+      Assert.assertEquals(1, out.flushes);
+      writer.close();
+   }
+
+   @Test
+   public void testFailedScheduledFlushIsReportedByNextWrite() throws Exception
+   {
+      CountingStream out = new CountingStream();
+      out.failing = true;
+      HistoryWriter writer = new HistoryWriter(out);
+      writer.write("pwd");
+
+      long deadline = System.currentTimeMillis() + (HistoryWriter.FLUSH_DELAY * 10);
+      while ((out.attempts == 0) && (System.currentTimeMillis() < deadline))
+      {
+         Thread.sleep(50);
+      }
+      Thread.sleep(50);
+
+      out.failing = false;
+      try
+      {
+         writer.write("ls");
+         Assert.fail("Expected the failed flush to be reported");
+      }
+      catch (IOException e)
+      {
+         Assert.assertEquals("disk full", e.getMessage());
+      }
+
+      writer.close();
+      Assert.assertEquals(1, out.flushes);
+   }
+
+   private static class CountingStream extends ByteArrayOutputStream
+   {
+      private volatile int flushes;
+      private volatile int attempts;
+      private volatile boolean failing;
+
+      @Override
+      public void flush() throws IOException
+      {
+         attempts++;
+         if (failing)
+         {
+            throw new IOException("disk full");
+         }
+         flushes++;
+      }
+   }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import java.util.ListIterator;
+
+import org.jboss.forge.shell.console.jline.console.history.History.Entry;
+import org.jboss.forge.shell.console.jline.console.history.MemoryHistory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MemoryHistoryTest
+{
+   @Test
+   public void testOldestEntriesAreTrimmed()
+   {
+      MemoryHistory history = new MemoryHistory();
+      history.setMaxSize(3);
+      for (int i = 0; i < 10; i++)
+      {
+         history.add("command " + i);
+      }
+
+      Assert.assertEquals(3, history.size());
+      Assert.assertEquals(10, history.index());
+      Assert.assertEquals("command 7", history.get(7));
+      Assert.assertEquals("command 9", history.get(9));
+
+      ListIterator<Entry> entries = history.entries(10);
+      Assert.assertEquals(9, entries.previous().index());
+      Assert.assertEquals(8, entries.previous().index());
+      Assert.assertEquals("command 7", entries.previous().value());
+      Assert.assertFalse(entries.hasPrevious());
+   }
+
+   @Test
+   public void testDuplicatesAndReplace()
+   {
+      MemoryHistory history = new MemoryHistory();
+      history.add("ls");
+      history.add("ls");
+      history.add("cd");
+      history.replace("pwd");
+
+      Assert.assertEquals(2, history.size());
+      Assert.assertEquals("pwd", history.get(1));
+      Assert.assertTrue(history.previous());
+      Assert.assertEquals("pwd", history.current());
+   }
+
+   @Test
+   public void testSearchBackwards()
+   {
+      MemoryHistory history = new MemoryHistory();
+      history.setMaxSize(1000);
+      for (int i = 0; i < 2000; i++)
+      {
+         history.add("new-project --named demo" + i);
+      }
+      history.add("persistence setup --provider HIBERNATE");
+      history.add("ls");
+
+      Assert.assertEquals(2000, history.searchBackwards("setup", history.index(), false));
+      Assert.assertEquals(2001, history.searchBackwards("ls", history.index(), false));
+      Assert.assertEquals(1999, history.searchBackwards("demo1999", history.index(), false));
+      Assert.assertEquals(1998, history.searchBackwards("demo", 1999, false));
+      Assert.assertEquals(-1, history.searchBackwards("demo999", history.index(), false));
+      Assert.assertEquals(-1, history.searchBackwards("setup", 2000, false));
+      Assert.assertEquals(2000, history.searchBackwards("pers", history.index(), true));
+      Assert.assertEquals(-1, history.searchBackwards("setup", history.index(), true));
+
+      history.replace("forge list-plugins");
+      Assert.assertEquals(2001, history.searchBackwards("plugins", history.index(), false));
+      Assert.assertEquals(-1, history.searchBackwards("ls --all", history.index(), false));
+
+      for (int i = 0; i < 1500; i++)
+      {
+         history.add("build " + i);
+      }
+      Assert.assertEquals(-1, history.searchBackwards("setup", history.index(), false));
+      Assert.assertEquals(history.index() - 1, history.searchBackwards("build", history.index(), false));
+   }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.jboss.forge.shell.util.PipeBuffer;
+import org.jboss.forge.shell.util.PipeOutImpl;
+import org.jboss.forge.shell.util.Streams;
+import org.junit.Test;
+
+public class PipeBufferTest
+{
+   @Test
+   public void testWriterBlocksUntilReaderCatchesUp() throws Exception
+   {
+      final PipeBuffer pipe = new PipeBuffer(16);
+      final byte[] data = new byte[1000];
+      for (int i = 0; i < data.length; i++)
+      {
+         data[i] = (byte) i;
+      }
+
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            pipe.write(data, 0, 500);
+            pipe.write(data, 500, 500);
+            pipe.closeWriter();
+         }
+      };
+      writer.start();
+
+      ByteArrayOutputStream read = new ByteArrayOutputStream();
+      Streams.write(pipe.getInputStream(), read);
+      writer.join();
+
+      byte[] result = read.toByteArray();
+      assertEquals(data.length, result.length);
+      for (int i = 0; i < data.length; i++)
+      {
+         assertEquals(data[i], result[i]);
+      }
+   }
+
+   @Test
+   public void testWriterFailsOnceReaderIsClosed() throws Exception
+   {
+      final PipeBuffer pipe = new PipeBuffer(16);
+      final boolean[] failed = new boolean[1];
+
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               pipe.write(new byte[64]);
+            }
+            catch (IllegalStateException e)
+            {
+               failed[0] = true;
+            }
+         }
+      };
+      writer.start();
+
+      assertEquals(1, pipe.getInputStream().read(new byte[1]));
+      pipe.closeReader();
+      writer.join(5000);
+      assertTrue(failed[0]);
+   }
+
+   @Test
+   public void testPipeOutWritesCharacters() throws Exception
+   {
+      PipeOutImpl buffered = new PipeOutImpl(null);
+      buffered.setPiped(true);
+      buffered.write('a');
+      buffered.println("bc");
+      assertEquals("abc\n", buffered.getBuffer());
+
+      PipeBuffer pipe = new PipeBuffer();
+      PipeOutImpl streamed = new PipeOutImpl(null, pipe);
+      streamed.setPiped(true);
+      streamed.write('a');
+      streamed.println("bc");
+      pipe.closeWriter();
+      assertEquals("abc\n", Streams.toString(pipe.getInputStream()));
+   }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.forge.shell.util.PrefixTrie;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixTrieTest
+{
+   @Test
+   public void testExactLookupIsCaseSensitive()
+   {
+      PrefixTrie<String> trie = PrefixTrie.<String> empty().with("new-project", "a").with("New-Project", "b");
+      Assert.assertEquals("a", trie.get("new-project"));
+      Assert.assertEquals("b", trie.get("New-Project"));
+      Assert.assertNull(trie.get("new-proj"));
+      Assert.assertNull(trie.get("NEW-PROJECT"));
+      Assert.assertEquals(2, trie.size());
+   }
+
+   @Test
+   public void testPrefixLookupIgnoresCaseAndIsOrdered()
+   {
+      Map<String, String> entries = new LinkedHashMap<String, String>();
+      entries.put("persistence", "persistence");
+      entries.put("project", "project");
+      entries.put("pwd", "pwd");
+      entries.put("Prettyfaces", "Prettyfaces");
+      entries.put("ls", "ls");
+      PrefixTrie<String> trie = PrefixTrie.of(entries);
+
+      Assert.assertEquals(Arrays.asList("Prettyfaces", "project"), trie.getByPrefix("PR"));
+      Assert.assertEquals(Arrays.asList("persistence", "Prettyfaces", "project", "pwd"), trie.getByPrefix("p"));
+      Assert.assertEquals(5, trie.getByPrefix("").size());
+      Assert.assertEquals(Collections.emptyList(), trie.getByPrefix("x"));
+   }
+
+   @Test
+   public void testAddingLeavesOriginalUnchanged()
+   {
+      PrefixTrie<String> original = PrefixTrie.<String> empty().with("cd", "cd");
+      PrefixTrie<String> updated = original.with("cat", "cat").with("cd", "cd2");
+
+      Assert.assertEquals(Arrays.asList("cd"), original.getByPrefix("c"));
+      Assert.assertEquals("cd", original.get("cd"));
+      Assert.assertEquals(Arrays.asList("cat", "cd2"), updated.getByPrefix("c"));
+      Assert.assertEquals(2, updated.size());
+   }
+}